@@ -35,6 +35,16 @@ public final class Main extends JavaPlugin {
     private EffectsManager effectsManager;
     private ConfiguredRewardManager configuredRewardManager;
     private RankingManager rankingManager;
+    private PrefetchManager prefetchManager;
+    private AutosaveManager autosaveManager;
+    private QueueManager queueManager;
+    private DungeonScheduler dungeonScheduler;
+    private SpawnScheduler spawnScheduler;
+    private EntityBudget entityBudget;
+    private SessionPipeline sessionPipeline;
+    private ChunkTicketManager chunkTicketManager;
+    private MobPool mobPool;
+    private MobAiManager mobAiManager;
 
     private FileConfiguration dungeonsConfig;
     private FileConfiguration mobsConfig;
@@ -79,6 +89,11 @@ public final class Main extends JavaPlugin {
 
     @Override
     public void onDisable() {
+        // Stop matchmaking before sessions end
+        if (queueManager != null) {
+            queueManager.stop();
+        }
+
         // End all active sessions
         if (sessionManager != null) {
             sessionManager.endAllSessions();
@@ -89,14 +104,39 @@ public final class Main extends JavaPlugin {
             bossBarManager.removeAllBossBars();
         }
 
-        // Save player data
+        // Stop the dungeon tick loop
+        if (dungeonScheduler != null) {
+            dungeonScheduler.stop();
+        }
+
+        // Release arena chunk tickets
+        if (chunkTicketManager != null) {
+            chunkTicketManager.stop();
+        }
+
+        // Stop the autosave cycle (everything is flushed below)
+        if (autosaveManager != null) {
+            autosaveManager.stop();
+        }
+
+        // Stop pre-login prefetching
+        if (prefetchManager != null) {
+            prefetchManager.shutdown();
+        }
+
+        // Save player data (flushes the write-behind queue)
         if (playerDataManager != null) {
-            playerDataManager.saveAll();
+            playerDataManager.shutdown();
+        }
+
+        // Close the pending rewards journal
+        if (rewardManager != null) {
+            rewardManager.shutdown();
         }
 
-        // Save equipment data
+        // Save equipment data (flushes the write-behind queue)
         if (equipmentManager != null) {
-            equipmentManager.saveAll();
+            equipmentManager.shutdown();
         }
 
         getLogger().info("Dungeons desabilitado!");
@@ -123,8 +163,12 @@ public final class Main extends JavaPlugin {
 
     private void initializeEarlyManagers() {
         // Managers that don't need worlds loaded
+        this.dungeonScheduler = new DungeonScheduler(this);
         this.messageManager = new MessageManager(this);
         this.mobManager = new MobManager(this);
+        this.spawnScheduler = new SpawnScheduler(this);
+        this.mobPool = new MobPool(this);
+        this.mobAiManager = new MobAiManager(this);
         this.bossManager = new BossManager(this);
         this.weaponManager = new WeaponManager(this);
         this.playerDataManager = new PlayerDataManager(this);
@@ -136,12 +180,24 @@ public final class Main extends JavaPlugin {
         this.effectsManager = new EffectsManager(this);
         this.configuredRewardManager = new ConfiguredRewardManager(this);
         this.rankingManager = new RankingManager(this);
+        this.prefetchManager = new PrefetchManager(this);
+        this.autosaveManager = new AutosaveManager(this);
     }
 
     private void initializeLateManagers() {
         // Managers that need worlds loaded (locations)
         this.dungeonManager = new DungeonManager(this);
         this.sessionManager = new SessionManager(this);
+        this.sessionPipeline = new SessionPipeline(this);
+        this.chunkTicketManager = new ChunkTicketManager(this);
+        this.queueManager = new QueueManager(this);
+        this.entityBudget = new EntityBudget(this);
+
+        // Mobs left behind by a crash mid-dungeon no longer belong to any session
+        int orphans = mobManager.removeOrphans();
+        if (orphans > 0) {
+            getLogger().info("Removed " + orphans + " leftover dungeon mobs");
+        }
 
         getLogger().info("Carregadas " + dungeonManager.getDungeonCount() + " dungeons!");
     }
@@ -168,6 +224,15 @@ public final class Main extends JavaPlugin {
         weaponManager.reload();
         menuManager.reload();
         scoreboardManager.reload();
+        autosaveManager.reload();
+        queueManager.reload();
+        dungeonScheduler.reload();
+        spawnScheduler.reload();
+        entityBudget.reload();
+        sessionPipeline.reload();
+        chunkTicketManager.reload();
+        mobPool.reload();
+        mobAiManager.reload();
     }
 
     // Getters
@@ -235,6 +300,46 @@ public final class Main extends JavaPlugin {
         return rankingManager;
     }
 
+    public PrefetchManager getPrefetchManager() {
+        return prefetchManager;
+    }
+
+    public AutosaveManager getAutosaveManager() {
+        return autosaveManager;
+    }
+
+    public QueueManager getQueueManager() {
+        return queueManager;
+    }
+
+    public DungeonScheduler getDungeonScheduler() {
+        return dungeonScheduler;
+    }
+
+    public SpawnScheduler getSpawnScheduler() {
+        return spawnScheduler;
+    }
+
+    public EntityBudget getEntityBudget() {
+        return entityBudget;
+    }
+
+    public SessionPipeline getSessionPipeline() {
+        return sessionPipeline;
+    }
+
+    public ChunkTicketManager getChunkTicketManager() {
+        return chunkTicketManager;
+    }
+
+    public MobPool getMobPool() {
+        return mobPool;
+    }
+
+    public MobAiManager getMobAiManager() {
+        return mobAiManager;
+    }
+
     public FileConfiguration getDungeonsConfig() {
         return dungeonsConfig;
     }
@@ -1,13 +1,18 @@
 package github.dimazbtw.dungeons.commands;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.managers.DungeonScheduler;
+import github.dimazbtw.dungeons.managers.EntityBudget;
 import github.dimazbtw.dungeons.models.Dungeon;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.storage.FilePlayerDataStore;
 import me.saiintbrisson.minecraft.command.annotation.Command;
 import me.saiintbrisson.minecraft.command.annotation.Optional;
 import me.saiintbrisson.minecraft.command.command.Context;
 import me.saiintbrisson.minecraft.command.target.CommandTarget;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
@@ -70,12 +75,7 @@ public class DungeonCommand {
             return;
         }
 
-        DungeonSession session = plugin.getSessionManager().getSessionByDungeon(dungeonId);
-        if (session == null) {
-            session = plugin.getSessionManager().createSession(dungeon);
-        }
-
-        plugin.getSessionManager().joinSession(player, session);
+        plugin.getSessionManager().joinDungeon(player, dungeon);
     }
 
     @Command(
@@ -87,6 +87,10 @@ public class DungeonCommand {
     public void leaveCommand(Context<Player> context) {
         Player player = context.getSender();
 
+        if (plugin.getQueueManager().leaveQueue(player)) {
+            return;
+        }
+
         if (!plugin.getSessionManager().isInDungeon(player)) {
             plugin.getMessageManager().sendMessage(player, "not-in-dungeon");
             return;
@@ -99,12 +103,45 @@ public class DungeonCommand {
         name = "dungeon.stats",
         aliases = {"s", "statistics"},
         description = "View your dungeon stats",
+        usage = "[player]",
         target = CommandTarget.PLAYER
     )
-    public void statsCommand(Context<Player> context) {
+    public void statsCommand(Context<Player> context, @Optional String targetName) {
         Player player = context.getSender();
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
 
+        if (targetName != null && player.hasPermission("dungeons.admin")) {
+            Player online = Bukkit.getPlayerExact(targetName);
+            if (online != null) {
+                sendStats(player, plugin.getPlayerDataManager().getData(online.getUniqueId()));
+                return;
+            }
+
+            // getOfflinePlayer(nome) pode consultar a Mojang e o backend pode ser SQLite:
+            // nome e dados são resolvidos fora da thread principal
+            plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+                OfflinePlayer target = Bukkit.getOfflinePlayer(targetName);
+                boolean known = target.isOnline() || target.hasPlayedBefore();
+                // Consulta de admin: jogadores offline são lidos sem ficar em cache
+                PlayerData fetched = known ? plugin.getPlayerDataManager().fetch(target.getUniqueId()) : null;
+
+                plugin.getServer().getScheduler().runTask(plugin, () -> {
+                    if (!player.isOnline()) return;
+                    if (!known) {
+                        player.sendMessage("§cPlayer " + targetName + " not found!");
+                        return;
+                    }
+                    // Uma cópia em memória é mais recente que a lida do backend
+                    PlayerData cached = plugin.getPlayerDataManager().getCached(target.getUniqueId());
+                    sendStats(player, cached != null ? cached : fetched);
+                });
+            });
+            return;
+        }
+
+        sendStats(player, plugin.getPlayerDataManager().getData(player.getUniqueId()));
+    }
+
+    private void sendStats(Player player, PlayerData data) {
         if (data == null) {
             plugin.getMessageManager().sendMessage(player, "error-occurred");
             return;
@@ -225,23 +262,7 @@ public class DungeonCommand {
             return;
         }
 
-        session.cancelCountdownTask();
-        session.setState(DungeonSession.SessionState.IN_PROGRESS);
-        session.setStartTime(System.currentTimeMillis());
-        session.setCurrentRound(0);
-
-        String title = plugin.getMessageManager().getTitleMain("dungeon-start");
-        String subtitle = plugin.getMessageManager().getTitleSub("dungeon-start");
-
-        for (Player p : session.getOnlinePlayers()) {
-            p.sendTitle(title, subtitle, 10, 40, 10);
-            plugin.getScoreboardManager().applyInGameScoreboard(p, session);
-        }
-
-        session.broadcast(plugin.getMessageManager().getMessageWithPrefix("dungeon-started"));
-
-        plugin.getServer().getScheduler().runTaskLater(plugin, () -> 
-            plugin.getSessionManager().startNextRound(session), 40L);
+        plugin.getSessionManager().forceStart(session);
     }
 
     @Command(
@@ -341,6 +362,109 @@ public class DungeonCommand {
         }
     }
 
+    @Command(
+        name = "dungeon.migrate",
+        aliases = {"migratedata"},
+        description = "Convert YAML player data to the binary format (FILE storage only)",
+        permission = "dungeons.admin"
+    )
+    public void migrateCommand(Context<CommandSender> context) {
+        CommandSender sender = context.getSender();
+        sender.sendMessage("§eMigrating player data to the binary format...");
+
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+            FilePlayerDataStore.MigrationResult result = plugin.getPlayerDataManager().migrateYamlFiles();
+
+            plugin.getServer().getScheduler().runTask(plugin, () -> {
+                if (result == null) {
+                    // Só o backend FILE tem arquivos YAML a converter; o SQLite importa playerdata/ sozinho
+                    sender.sendMessage("§cPlayer data is stored in "
+                            + plugin.getPlayerDataManager().getStore().getName() + ", nothing to migrate.");
+                    sender.sendMessage("§7This command only applies to database.type FILE. "
+                            + "With SQLITE, playerdata/ files are imported automatically on startup.");
+                    return;
+                }
+                sender.sendMessage(String.format("§aMigrated %d files in %dms (%.1f files/s)",
+                        result.getMigrated(), result.getElapsedMillis(), result.getFilesPerSecond()));
+                if (result.getSkipped() > 0 || result.getFailed() > 0) {
+                    sender.sendMessage("§7Skipped: " + result.getSkipped() + " §8| §cFailed: " + result.getFailed());
+                }
+            });
+        });
+    }
+
+    @Command(
+        name = "dungeon.scheduler",
+        aliases = {"ticks", "timings"},
+        description = "Show the dungeon tick loop cost",
+        permission = "dungeons.admin"
+    )
+    public void schedulerCommand(Context<CommandSender> context) {
+        CommandSender sender = context.getSender();
+        DungeonScheduler scheduler = plugin.getDungeonScheduler();
+
+        sender.sendMessage("§e§l--- Dungeon Scheduler ---");
+        sender.sendMessage(String.format("§fScheduled tasks: §a%d §8| §fActive sessions: §a%d",
+                scheduler.getScheduledCount(), plugin.getSessionManager().getActiveSessionCount()));
+        sender.sendMessage(String.format("§fTick cost: §a%.3fms §7(avg %.3fms, peak %.3fms)",
+                scheduler.getLastTickMillis(), scheduler.getAverageTickMillis(), scheduler.getPeakTickMillis()));
+        sender.sendMessage(String.format("§fHUD budget: §a%s §8| §fDeferred updates: §c%d",
+                scheduler.getBudgetMillis() > 0 ? scheduler.getBudgetMillis() + "ms" : "unlimited",
+                scheduler.getDeferredCount()));
+        sender.sendMessage(String.format("§fMob counter drift: §a%d §7(last sweep) §8| §fTotal: §a%d",
+                plugin.getMobManager().getLastDrift(), plugin.getMobManager().getTotalDrift()));
+        sender.sendMessage(String.format("§fJoin/start pipeline: §a%d §7steps pending §8| §fBudget: §a%s",
+                plugin.getSessionPipeline().getPendingCount(),
+                plugin.getSessionPipeline().getBudgetMillis() > 0 ? plugin.getSessionPipeline().getBudgetMillis() + "ms" : "unlimited"));
+        sender.sendMessage(String.format("§fArena chunks held: §a%d §8| §fWarming: §e%d",
+                plugin.getChunkTicketManager().getHeldCount(), plugin.getChunkTicketManager().getWarmingCount()));
+        sender.sendMessage(String.format("§fSpawn queue: §a%d §7pending §8| §fStaged waves: §a%d §8| §fBudget: §a%d/tick",
+                plugin.getSpawnScheduler().getPendingCount(), plugin.getSpawnScheduler().getStagedCount(),
+                plugin.getSpawnScheduler().getSpawnsPerTick()));
+
+        scheduler.resetMetrics();
+    }
+
+    @Command(
+        name = "dungeon.budget",
+        aliases = {"entities", "leases"},
+        description = "Show mob slots leased to each session",
+        permission = "dungeons.admin"
+    )
+    public void budgetCommand(Context<CommandSender> context) {
+        CommandSender sender = context.getSender();
+        EntityBudget budget = plugin.getEntityBudget();
+        budget.reallocate();
+
+        sender.sendMessage("§e§l--- Entity Budget ---");
+        sender.sendMessage(String.format("§fMobs alive: §a%d§7/%s §8| §fDeferred spawns: §c%d",
+                budget.getUsage(),
+                budget.isEnabled() ? String.valueOf(budget.getMaxMobs()) : "unlimited",
+                budget.getDeferredCount()));
+
+        if (plugin.getMobAiManager().isEnabled()) {
+            int[] levels = plugin.getMobAiManager().getLevelCounts();
+            sender.sendMessage(String.format("§fMob AI: §a%d §7full §8| §e%d §7reduced §8| §c%d §7dormant",
+                    levels[0], levels[1], levels[2]));
+        }
+
+        if (plugin.getMobPool().isEnabled()) {
+            sender.sendMessage(String.format("§fPooled mobs: §a%d §8| §fReused: §a%d",
+                    plugin.getMobPool().getParkedCount(), plugin.getMobPool().getReusedCount()));
+        }
+
+        for (DungeonSession session : plugin.getSessionManager().getAllSessions()) {
+            if (!session.isInProgress() && !session.isBossRound()) continue;
+
+            sender.sendMessage(String.format("§7- §f%s §7(%s) §8| §fPlayers: §a%d §8| §fLease: §a%d§7/%d §8| §fQueued: §e%d",
+                    session.getDungeon().getId(), session.getArena().getId(), session.getPlayerCount(),
+                    session.getAliveMobCount(), budget.getLease(session),
+                    plugin.getSpawnScheduler().getPendingCount(session)));
+        }
+
+        budget.resetMetrics();
+    }
+
     @Command(
         name = "dungeon.ranking",
         aliases = {"rank", "top", "leaderboard"},
@@ -1,6 +1,9 @@
 package github.dimazbtw.dungeons.hooks;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.managers.QueueManager;
+import github.dimazbtw.dungeons.managers.SessionManager;
+import github.dimazbtw.dungeons.models.Dungeon;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import github.dimazbtw.dungeons.models.PlayerData;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
@@ -67,6 +70,18 @@ public class PlaceholderHook extends PlaceholderExpansion {
             case "in_dungeon" -> session != null ? "true" : "false";
             case "dungeon_name" -> session != null ? session.getDungeon().getId() : "None";
             case "dungeon_display" -> session != null ? session.getDungeon().getDisplayName() : "None";
+            case "arena" -> session != null ? session.getArena().getId() : "None";
+
+            // Matchmaking
+            case "queue" -> {
+                String queued = plugin.getQueueManager().getPlayerQueue(player.getUniqueId());
+                yield queued != null ? queued : "None";
+            }
+            case "queue_position" -> String.valueOf(plugin.getQueueManager().getPosition(player.getUniqueId()));
+            case "queue_wait" -> {
+                String queued = plugin.getQueueManager().getPlayerQueue(player.getUniqueId());
+                yield QueueManager.formatWait(queued != null ? plugin.getQueueManager().getEstimatedWait(queued) : 0);
+            }
             case "current_round" -> session != null ? String.valueOf(session.getCurrentRound()) : "0";
             case "max_rounds" -> session != null ? String.valueOf(session.getDungeon().getTotalRounds()) : "0";
             case "mobs_left" -> session != null ? String.valueOf(session.getMobsLeft()) : "0";
@@ -98,7 +113,37 @@ public class PlaceholderHook extends PlaceholderExpansion {
             case "thor_level" -> data != null ? String.valueOf(data.getEnchantLevel("thor")) : "0";
             case "shockwave_level" -> data != null ? String.valueOf(data.getEnchantLevel("shockwave")) : "0";
 
-            default -> null;
+            default -> onDungeonRequest(params);
+        };
+    }
+
+    /**
+     * Placeholders por dungeon: instances_<id>, free_instances_<id>, players_<id>,
+     * queue_<id> e queue_wait_<id>
+     */
+    private String onDungeonRequest(String params) {
+        String lower = params.toLowerCase();
+        String key;
+        if (lower.startsWith("free_instances_")) key = "free_instances_";
+        else if (lower.startsWith("instances_")) key = "instances_";
+        else if (lower.startsWith("players_")) key = "players_";
+        else if (lower.startsWith("queue_wait_")) key = "queue_wait_";
+        else if (lower.startsWith("queue_")) key = "queue_";
+        else return null;
+
+        Dungeon dungeon = plugin.getDungeonManager().getDungeon(params.substring(key.length()));
+        if (dungeon == null) return null;
+
+        SessionManager sessionManager = plugin.getSessionManager();
+        int occupied = sessionManager.getOccupiedArenaCount(dungeon.getId());
+        int capacity = sessionManager.getArenaCapacity(dungeon);
+
+        return switch (key) {
+            case "free_instances_" -> String.valueOf(Math.max(0, capacity - occupied));
+            case "instances_" -> occupied + "/" + capacity;
+            case "queue_" -> String.valueOf(plugin.getQueueManager().getQueueSize(dungeon.getId()));
+            case "queue_wait_" -> QueueManager.formatWait(plugin.getQueueManager().getEstimatedWait(dungeon.getId()));
+            default -> String.valueOf(sessionManager.getPlayersInDungeon(dungeon.getId()));
         };
     }
 }
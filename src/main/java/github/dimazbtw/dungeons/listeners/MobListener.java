@@ -1,6 +1,7 @@
 package github.dimazbtw.dungeons.listeners;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.ActiveMob;
 import github.dimazbtw.dungeons.models.DungeonMob;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import github.dimazbtw.dungeons.models.PlayerData;
@@ -9,11 +10,16 @@ import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityDeathEvent;
 import org.bukkit.event.entity.EntityTargetEvent;
+import org.bukkit.event.world.EntitiesLoadEvent;
+import org.bukkit.event.world.EntitiesUnloadEvent;
 
 public class MobListener implements Listener {
 
@@ -28,25 +34,68 @@ public class MobListener implements Listener {
         LivingEntity entity = event.getEntity();
 
         // Check if it's a dungeon mob
-        if (!plugin.getMobManager().isDungeonMob(entity)) return;
+        ActiveMob activeMob = plugin.getMobManager().getActiveMob(entity);
+        if (activeMob == null) return;
 
         // Clear default drops
         event.getDrops().clear();
         event.setDroppedExp(0);
 
-        // Get session
-        String sessionId = plugin.getMobManager().getSessionId(entity);
-        if (sessionId == null) return;
+        handleDeath(entity, activeMob, entity.getKiller());
+    }
 
-        DungeonSession session = plugin.getSessionManager().getSession(sessionId);
-        if (session == null) return;
+    /**
+     * Com o pool de mobs ligado, o golpe fatal em um mob comum é cancelado: o mob
+     * conta como morto (recompensas, efeitos, round) e é estacionado para a próxima wave
+     */
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onLethalDamage(EntityDamageEvent event) {
+        if (!plugin.getMobPool().isEnabled()) return;
+        if (!(event.getEntity() instanceof LivingEntity entity)) return;
+        if (entity.getHealth() - event.getFinalDamage() > 0) return;
+
+        ActiveMob activeMob = plugin.getMobManager().getActiveMob(entity);
+        if (activeMob == null || activeMob.isBoss()) return;
+        if (!plugin.getMobPool().canPark(activeMob.getSession())) return; // Morre normalmente
+
+        event.setCancelled(true);
+
+        Player killer = getPlayerDamager(event);
+        if (killer != null && activeMob.getSession().hasPlayer(killer)) {
+            // O MONITOR do WeaponListener não vê o evento cancelado
+            plugin.getWeaponManager().applyKillEffects(killer, entity);
+        }
+
+        handleDeath(entity, activeMob, killer);
+
+        // A morte pode ter encerrado a dungeon (pool já limpo)
+        if (activeMob.getSession().isEnded()) {
+            entity.remove();
+        } else {
+            plugin.getMobPool().park(activeMob.getSession(), activeMob.getMobId(), entity);
+        }
+    }
+
+    private Player getPlayerDamager(EntityDamageEvent event) {
+        if (!(event instanceof EntityDamageByEntityEvent byEntity)) return null;
+
+        Entity damager = byEntity.getDamager();
+        if (damager instanceof Player player) return player;
+        if (damager instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter) return shooter;
+        return null;
+    }
 
+    private void handleDeath(LivingEntity entity, ActiveMob activeMob, Player killer) {
         // Remove from session tracking
+        DungeonSession session = activeMob.getSession();
         session.removeMob(entity);
+        plugin.getMobManager().untrack(entity);
+
+        if (session.isEnded()) return;
 
         // Get mob info
-        String mobId = plugin.getMobManager().getMobId(entity);
-        boolean isBoss = plugin.getMobManager().isBoss(entity);
+        String mobId = activeMob.getMobId();
+        boolean isBoss = activeMob.isBoss();
         Location deathLocation = entity.getLocation();
 
         // Efeitos de morte
@@ -57,7 +106,6 @@ public class MobListener implements Listener {
         }
 
         // Get killer
-        Player killer = entity.getKiller();
         if (killer == null) return;
 
         // Check if killer is in this session
@@ -109,22 +157,35 @@ public class MobListener implements Listener {
     }
 
     @EventHandler
-    public void onEntityTarget(EntityTargetEvent event) {
-        Entity entity = event.getEntity();
-        Entity target = event.getTarget();
+    public void onEntitiesUnload(EntitiesUnloadEvent event) {
+        for (Entity entity : event.getEntities()) {
+            if (plugin.getMobManager().isDungeonMob(entity)) {
+                plugin.getMobManager().onMobUnloaded(entity);
+            }
+        }
+    }
 
-        // Check if entity is a dungeon mob
-        if (!plugin.getMobManager().isDungeonMob(entity)) return;
+    @EventHandler
+    public void onEntitiesLoad(EntitiesLoadEvent event) {
+        // Mobs de sessões que não existem mais (servidor caiu no meio da dungeon)
+        for (Entity entity : event.getEntities()) {
+            if (plugin.getMobManager().isOrphan(entity)) {
+                entity.remove();
+            }
+        }
+    }
 
+    @EventHandler
+    public void onEntityTarget(EntityTargetEvent event) {
         // If targeting a player, check if they're in the same session
-        if (target instanceof Player player) {
-            String sessionId = plugin.getMobManager().getSessionId(entity);
-            if (sessionId == null) return;
+        if (!(event.getTarget() instanceof Player player)) return;
 
-            DungeonSession session = plugin.getSessionManager().getSession(sessionId);
-            if (session == null || !session.hasPlayer(player)) {
-                event.setCancelled(true);
-            }
+        // Check if entity is a dungeon mob
+        DungeonSession session = plugin.getMobManager().getSession(event.getEntity());
+        if (session == null) return;
+
+        if (session.isEnded() || !session.hasPlayer(player)) {
+            event.setCancelled(true);
         }
     }
 }
@@ -10,8 +10,10 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.inventory.ItemStack;
@@ -25,15 +27,39 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
 
+    @EventHandler(priority = EventPriority.LOW)
+    public void onPreLoginImport(AsyncPlayerPreLoginEvent event) {
+        // Player files are still being imported into SQLite, their data is not complete yet
+        if (plugin.getPlayerDataManager().isImporting()) {
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER,
+                    ColorUtils.colorize("&cPlayer data is being migrated, please try again in a moment."));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        // Read player data and equipment off the main thread
+        plugin.getPrefetchManager().prefetch(event.getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getPrefetchManager().discard(event.getPlayer().getUniqueId());
+        }
+    }
+
     @EventHandler
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         
-        // Load player data
-        plugin.getPlayerDataManager().loadPlayer(player.getUniqueId());
-        
-        // Load equipment data
-        plugin.getEquipmentManager().loadPlayer(player.getUniqueId());
+        // Load player data and equipment (prefetched on pre-login when available)
+        plugin.getPrefetchManager().promote(player.getUniqueId());
+
+        // Load pending rewards shard (async)
+        plugin.getRewardManager().loadPlayer(player.getUniqueId());
         
         // Apply stats after a tick to ensure everything is loaded
         plugin.getServer().getScheduler().runTaskLater(plugin, () -> {
@@ -56,11 +82,22 @@ public class PlayerListener implements Listener {
             plugin.getSessionManager().leaveSession(player);
         }
 
+        // Leave matchmaking queue
+        if (plugin.getQueueManager() != null) {
+            plugin.getQueueManager().dequeue(player.getUniqueId());
+        }
+
+        // Drop anything prefetched for a duplicate login, it predates this session's saves
+        plugin.getPrefetchManager().discard(player.getUniqueId());
+
         // Save and unload player data
         plugin.getPlayerDataManager().unloadPlayer(player.getUniqueId());
         
         // Save and unload equipment data
         plugin.getEquipmentManager().unloadPlayer(player.getUniqueId());
+
+        // Evict pending rewards shard
+        plugin.getRewardManager().unloadPlayer(player.getUniqueId());
     }
 
     @EventHandler(priority = EventPriority.HIGHEST)
@@ -93,7 +130,7 @@ public class PlayerListener implements Listener {
 
         // Respawn at entry location if still in dungeon
         if (!session.isEnded()) {
-            var loc = session.getDungeon().getRandomEntryLocation();
+            var loc = session.getRandomEntryLocation();
             if (loc != null) {
                 event.setRespawnLocation(loc);
             }
@@ -1,12 +1,12 @@
 package github.dimazbtw.dungeons.listeners;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.CombatProfile;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Location;
 import org.bukkit.attribute.Attribute;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -43,17 +43,20 @@ public class WeaponListener implements Listener {
         ItemStack weapon = player.getInventory().getItemInMainHand();
         if (!plugin.getWeaponManager().isDungeonWeapon(weapon)) return;
 
+        // Valores de encantamento já resolvidos: uma consulta por hit
+        CombatProfile profile = plugin.getWeaponManager().getProfile(player);
+
         double baseDamage = event.getDamage();
         double finalDamage = baseDamage;
 
         // Apply Smite bonus damage
-        double smiteBonus = plugin.getWeaponManager().getSmiteDamageBonus(player);
+        double smiteBonus = profile.getSmiteBonus();
         if (smiteBonus > 0) {
             finalDamage += baseDamage * (smiteBonus / 100);
         }
 
         // Apply Crit (double damage)
-        if (plugin.getWeaponManager().shouldTriggerCrit(player)) {
+        if (profile.rollCrit()) {
             finalDamage *= 2;
             // Efeito de crítico com partículas de sangue
             plugin.getEffectsManager().playCritEffect(target.getLocation());
@@ -65,42 +68,47 @@ public class WeaponListener implements Listener {
         showMobHealthBar(player, target, finalDamage);
 
         // Apply Thor (lightning on nearby mobs)
-        if (plugin.getWeaponManager().shouldTriggerThor(player)) {
-            double radius = plugin.getWeaponManager().getThorRadius(player);
+        if (profile.rollThor()) {
+            double radius = profile.getThorRadius();
             Location targetLoc = target.getLocation();
 
             // Efeito de raio no alvo principal
             plugin.getEffectsManager().playThorEffect(targetLoc);
 
-            for (Entity nearby : target.getNearbyEntities(radius, radius, radius)) {
-                if (nearby instanceof LivingEntity livingNearby && plugin.getMobManager().isDungeonMob(nearby)) {
-                    // Efeito de raio em cada mob próximo
-                    plugin.getEffectsManager().playThorEffect(livingNearby.getLocation());
-                    livingNearby.damage(5, player);
-                }
-            }
+            // Só os mobs da sessão, pelo índice espacial (o alvo principal fica de fora)
+            session.forEachMobWithin(targetLoc, radius, mob -> {
+                LivingEntity livingNearby = mob.getEntity();
+                // Mobs estacionados no pool continuam válidos; só conta quem ainda está registrado
+                if (livingNearby == target || !livingNearby.isValid()
+                        || plugin.getMobManager().getActiveMob(livingNearby) != mob) return;
+
+                // Efeito de raio em cada mob próximo
+                plugin.getEffectsManager().playThorEffect(livingNearby.getLocation());
+                livingNearby.damage(5, player);
+            });
         }
 
         // Apply Shockwave (knockback nearby mobs)
-        if (plugin.getWeaponManager().shouldTriggerShockwave(player)) {
-            double radius = plugin.getWeaponManager().getShockwaveRadius(player);
-            double knockback = plugin.getWeaponManager().getShockwaveKnockback(player);
+        if (profile.rollShockwave()) {
+            double radius = profile.getShockwaveRadius();
+            double knockback = profile.getShockwaveKnockback();
             Location playerLoc = player.getLocation();
 
             // Efeito de onda de choque
             plugin.getEffectsManager().playShockwaveEffect(playerLoc, radius);
 
-            for (Entity nearby : player.getNearbyEntities(radius, radius, radius)) {
-                if (nearby instanceof LivingEntity livingNearby && plugin.getMobManager().isDungeonMob(nearby)) {
-                    Vector direction = livingNearby.getLocation().toVector()
-                            .subtract(playerLoc.toVector())
-                            .normalize()
-                            .multiply(knockback)
-                            .setY(0.5);
-
-                    livingNearby.setVelocity(direction);
-                }
-            }
+            session.forEachMobWithin(playerLoc, radius, mob -> {
+                LivingEntity livingNearby = mob.getEntity();
+                if (!livingNearby.isValid() || plugin.getMobManager().getActiveMob(livingNearby) != mob) return;
+
+                Vector direction = livingNearby.getLocation().toVector()
+                        .subtract(playerLoc.toVector())
+                        .normalize()
+                        .multiply(knockback)
+                        .setY(0.5);
+
+                livingNearby.setVelocity(direction);
+            });
         }
     }
 
@@ -144,18 +152,7 @@ public class WeaponListener implements Listener {
         // Check if target is a dungeon mob
         if (!plugin.getMobManager().isDungeonMob(target)) return;
 
-        // Check if player is using dungeon weapon
-        ItemStack weapon = player.getInventory().getItemInMainHand();
-        if (!plugin.getWeaponManager().isDungeonWeapon(weapon)) return;
-
-        // Apply Lifesteal on kill
-        if (plugin.getWeaponManager().shouldTriggerLifesteal(player)) {
-            double healAmount = plugin.getWeaponManager().getLifestealAmount(player);
-            double newHealth = Math.min(player.getHealth() + healAmount, player.getMaxHealth());
-            player.setHealth(newHealth);
-
-            // Efeito de lifesteal com partículas de vida
-            plugin.getEffectsManager().playLifestealEffect(player, target.getLocation());
-        }
+        // Apply Lifesteal on kill (if using dungeon weapon)
+        plugin.getWeaponManager().applyKillEffects(player, target);
     }
 }
@@ -0,0 +1,88 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+
+/**
+ * Autosave periódico dos jogadores online.
+ * Cada ciclo é dividido em vários ticks (poucos jogadores por tick) e só
+ * enfileira dados alterados; a escrita em disco acontece nas threads de I/O.
+ */
+public class AutosaveManager {
+
+    private final Main plugin;
+    private final Deque<UUID> pending;
+
+    private BukkitTask cycleTask;
+    private BukkitTask tickTask;
+    private int playersPerTick;
+
+    public AutosaveManager(Main plugin) {
+        this.plugin = plugin;
+        this.pending = new ArrayDeque<>();
+        start();
+    }
+
+    private void start() {
+        long interval = plugin.getConfig().getLong("autosave.interval", 300) * 20L;
+        this.playersPerTick = Math.max(1, plugin.getConfig().getInt("autosave.players-per-tick", 10));
+
+        if (interval <= 0) {
+            plugin.getLogger().info("Autosave disabled");
+            return;
+        }
+
+        cycleTask = Bukkit.getScheduler().runTaskTimer(plugin, this::beginCycle, interval, interval);
+    }
+
+    private void beginCycle() {
+        // Ciclo anterior ainda em andamento
+        if (!pending.isEmpty()) return;
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            pending.add(player.getUniqueId());
+        }
+
+        if (!pending.isEmpty() && tickTask == null) {
+            tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::saveNextBatch, 1L, 1L);
+        }
+    }
+
+    private void saveNextBatch() {
+        for (int i = 0; i < playersPerTick && !pending.isEmpty(); i++) {
+            UUID playerId = pending.poll();
+            if (Bukkit.getPlayer(playerId) == null) continue; // Já salvo no quit
+
+            plugin.getPlayerDataManager().savePlayerData(playerId);
+            plugin.getEquipmentManager().saveEquipment(playerId);
+        }
+
+        if (pending.isEmpty()) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+    }
+
+    public void reload() {
+        stop();
+        start();
+    }
+
+    public void stop() {
+        if (cycleTask != null) {
+            cycleTask.cancel();
+            cycleTask = null;
+        }
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        pending.clear();
+    }
+}
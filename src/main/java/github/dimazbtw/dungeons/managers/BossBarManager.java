@@ -7,8 +7,6 @@ import org.bukkit.attribute.Attribute;
 import org.bukkit.boss.BossBar;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.Map;
 import java.util.UUID;
@@ -18,7 +16,7 @@ public class BossBarManager {
 
     private final Main plugin;
     private final Map<String, BossBar> sessionBossBars; // sessionId -> BossBar
-    private final Map<String, BukkitTask> updateTasks;
+    private final Map<String, DungeonScheduler.Task> updateTasks;
 
     public BossBarManager(Main plugin) {
         this.plugin = plugin;
@@ -40,9 +38,7 @@ public class BossBarManager {
         );
 
         // Add all players in session
-        for (Player player : session.getOnlinePlayers()) {
-            bossBar.addPlayer(player);
-        }
+        session.forEachPlayer(bossBar::addPlayer);
 
         bossBar.setVisible(true);
         bossBar.setProgress(1.0);
@@ -54,31 +50,25 @@ public class BossBarManager {
     }
 
     private void startUpdateTask(DungeonSession session, LivingEntity boss) {
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                BossBar bossBar = sessionBossBars.get(session.getSessionId());
-                if (bossBar == null || boss == null || boss.isDead() || !boss.isValid()) {
-                    removeBossBar(session);
-                    cancel();
-                    return;
-                }
-
-                // Update progress based on boss health
-                double maxHealth = boss.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
-                double currentHealth = boss.getHealth();
-                double progress = currentHealth / maxHealth;
-
-                bossBar.setProgress(Math.max(0, Math.min(1, progress)));
-
-                // Update players (in case new players joined)
-                for (Player player : session.getOnlinePlayers()) {
-                    if (!bossBar.getPlayers().contains(player)) {
-                        bossBar.addPlayer(player);
-                    }
-                }
+        DungeonScheduler.Task task = plugin.getDungeonScheduler().runTimer(session.getSessionId(),
+                DungeonScheduler.Phase.PLAYER, 0L, 5L, update -> { // Update every 5 ticks
+            BossBar bossBar = sessionBossBars.get(session.getSessionId());
+            if (bossBar == null || boss == null || boss.isDead() || !boss.isValid()) {
+                removeBossBar(session);
+                update.cancel();
+                return;
             }
-        }.runTaskTimer(plugin, 0L, 5L); // Update every 5 ticks
+
+            // Update progress based on boss health
+            double maxHealth = boss.getAttribute(Attribute.GENERIC_MAX_HEALTH).getValue();
+            double currentHealth = boss.getHealth();
+            double progress = currentHealth / maxHealth;
+
+            bossBar.setProgress(Math.max(0, Math.min(1, progress)));
+
+            // Update players (in case new players joined)
+            session.forEachPlayer(bossBar::addPlayer);
+        });
 
         updateTasks.put(session.getSessionId(), task);
     }
@@ -87,7 +77,7 @@ public class BossBarManager {
         String sessionId = session.getSessionId();
 
         // Cancel update task
-        BukkitTask task = updateTasks.remove(sessionId);
+        DungeonScheduler.Task task = updateTasks.remove(sessionId);
         if (task != null && !task.isCancelled()) {
             task.cancel();
         }
@@ -121,7 +111,7 @@ public class BossBarManager {
         }
         sessionBossBars.clear();
 
-        for (BukkitTask task : updateTasks.values()) {
+        for (DungeonScheduler.Task task : updateTasks.values()) {
             if (task != null && !task.isCancelled()) {
                 task.cancel();
             }
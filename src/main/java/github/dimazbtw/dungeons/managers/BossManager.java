@@ -13,8 +13,6 @@ import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.*;
 import org.bukkit.inventory.EntityEquipment;
-import org.bukkit.metadata.FixedMetadataValue;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.util.*;
 
@@ -257,17 +255,12 @@ public class BossManager {
             equipment.setItemInOffHandDropChance(0);
         }
 
-        // Set metadata
-        entity.setMetadata("dungeonMob", new FixedMetadataValue(plugin, boss.getId()));
-        entity.setMetadata("dungeonSession", new FixedMetadataValue(plugin, session.getSessionId()));
-        entity.setMetadata("dungeonBoss", new FixedMetadataValue(plugin, true));
-
         // Remove default drops
         entity.setRemoveWhenFarAway(false);
 
         // Set as session boss
         session.setActiveBoss(entity);
-        session.addMob(entity);
+        plugin.getMobManager().track(entity, boss.getId(), session, true, boss.getRange());
 
         // Start ability tasks
         startBossAbilities(boss, entity, session);
@@ -282,17 +275,16 @@ public class BossManager {
 
             if (!ability.isEnabled()) continue;
 
-            new BukkitRunnable() {
-                @Override
-                public void run() {
-                    if (entity.isDead() || !entity.isValid() || session.isEnded()) {
-                        cancel();
-                        return;
-                    }
-
-                    executeAbility(abilityName, ability, entity, session);
+            long interval = ability.getInterval() * 20L;
+            plugin.getDungeonScheduler().runTimer(session.getSessionId(), DungeonScheduler.Phase.SESSION,
+                    interval, interval, task -> {
+                if (entity.isDead() || !entity.isValid() || session.isEnded()) {
+                    task.cancel();
+                    return;
                 }
-            }.runTaskTimer(plugin, ability.getInterval() * 20L, ability.getInterval() * 20L);
+
+                executeAbility(abilityName, ability, entity, session);
+            });
         }
     }
 
@@ -313,14 +305,23 @@ public class BossManager {
         String mobType = (String) ability.getParameter("mob-type");
         if (mobType == null) mobType = "zombie";
 
+        DungeonMob minion = plugin.getMobManager().getMob(mobType);
+        if (minion == null) {
+            plugin.getLogger().warning("Mob not found: " + mobType);
+            return;
+        }
+
+        List<Location> locations = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            Location loc = boss.getLocation().add(
+            locations.add(boss.getLocation().add(
                     (Math.random() - 0.5) * 4,
                     0,
                     (Math.random() - 0.5) * 4
-            );
-            plugin.getMobManager().spawnMob(mobType, loc, session);
+            ));
         }
+
+        // Passa pelo orçamento de mobs: o que não couber no lease da sessão não nasce
+        plugin.getSpawnScheduler().summon(session, minion, locations);
     }
 
     private void executeGroundSlam(DungeonBoss.BossAbility ability, LivingEntity boss, DungeonSession session) {
@@ -328,12 +329,10 @@ public class BossManager {
         double damage = ability.getDoubleParameter("damage", 10.0);
 
         Location loc = boss.getLocation();
-        for (Player player : session.getOnlinePlayers()) {
-            if (player.getLocation().distance(loc) <= radius) {
-                player.damage(damage, boss);
-                player.setVelocity(player.getLocation().toVector().subtract(loc.toVector()).normalize().multiply(1.5).setY(0.5));
-            }
-        }
+        session.forEachPlayerWithin(loc, radius, player -> {
+            player.damage(damage, boss);
+            player.setVelocity(player.getLocation().toVector().subtract(loc.toVector()).normalize().multiply(1.5).setY(0.5));
+        });
 
         // Visual effect
         loc.getWorld().createExplosion(loc, 0, false, false);
@@ -359,10 +358,9 @@ public class BossManager {
     private void executeTeleport(DungeonBoss.BossAbility ability, LivingEntity boss, DungeonSession session) {
         double range = ability.getDoubleParameter("range", 10.0);
 
-        List<Player> players = session.getOnlinePlayers();
-        if (players.isEmpty()) return;
+        Player target = session.getRandomPlayer();
+        if (target == null) return;
 
-        Player target = players.get((int) (Math.random() * players.size()));
         Location targetLoc = target.getLocation().add(
                 (Math.random() - 0.5) * range,
                 0,
@@ -377,15 +375,12 @@ public class BossManager {
         double radius = ability.getDoubleParameter("radius", 4.0);
         int duration = ability.getIntParameter("duration", 5);
 
-        for (Player player : session.getOnlinePlayers()) {
-            if (player.getLocation().distance(boss.getLocation()) <= radius) {
-                player.addPotionEffect(new org.bukkit.potion.PotionEffect(
-                        org.bukkit.potion.PotionEffectType.SLOW,
-                        duration * 20,
-                        2
-                ));
-            }
-        }
+        Location loc = boss.getLocation();
+        session.forEachPlayerWithin(loc, radius, player -> player.addPotionEffect(new org.bukkit.potion.PotionEffect(
+                org.bukkit.potion.PotionEffectType.SLOW,
+                duration * 20,
+                2
+        )));
     }
 
     private void executeWitherStrike(DungeonBoss.BossAbility ability, LivingEntity boss, DungeonSession session) {
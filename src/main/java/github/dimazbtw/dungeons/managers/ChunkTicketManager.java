@@ -0,0 +1,181 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.ArenaSlot;
+import github.dimazbtw.dungeons.models.DungeonSession;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.*;
+
+/**
+ * Mantém carregados os chunks das arenas em uso. Durante a contagem de início
+ * os chunks de entrada, spawn de mobs, boss e saída da sessão são carregados
+ * aos poucos (dungeon-settings.prewarm-chunks-per-tick) e presos com plugin
+ * chunk tickets até a sessão ser limpa. Os tickets são contados por referência,
+ * já que arenas diferentes podem dividir chunks (ex.: a mesma saída).
+ */
+public class ChunkTicketManager {
+
+    private final Main plugin;
+    private final Map<ChunkKey, Ticket> tickets;
+    private final Map<String, Set<ChunkKey>> sessionChunks;
+    private final ArrayDeque<ChunkKey> warming;
+
+    private int chunksPerTick;
+
+    public ChunkTicketManager(Main plugin) {
+        this.plugin = plugin;
+        this.tickets = new HashMap<>();
+        this.sessionChunks = new HashMap<>();
+        this.warming = new ArrayDeque<>();
+        loadConfig();
+        plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.SESSION, 1L, 1L, task -> tick());
+    }
+
+    private void loadConfig() {
+        this.chunksPerTick = Math.max(1, plugin.getConfig().getInt("dungeon-settings.prewarm-chunks-per-tick", 2));
+    }
+
+    public void reload() {
+        loadConfig();
+    }
+
+    /**
+     * Reserva os chunks da arena da sessão; os que não estão carregados entram na fila
+     */
+    public void prewarm(DungeonSession session) {
+        if (sessionChunks.containsKey(session.getSessionId())) return;
+
+        Set<ChunkKey> chunks = new HashSet<>();
+        ArenaSlot arena = session.getArena();
+        for (Location location : arena.getEntryLocations()) {
+            addChunk(chunks, location);
+        }
+        for (Location location : arena.getMobSpawnLocations()) {
+            addChunk(chunks, location);
+        }
+        addChunk(chunks, session.getBossSpawnLocation());
+        addChunk(chunks, session.getExitLocation());
+
+        sessionChunks.put(session.getSessionId(), chunks);
+        for (ChunkKey key : chunks) {
+            Ticket ticket = tickets.computeIfAbsent(key, k -> new Ticket());
+            if (ticket.references++ == 0) {
+                warming.add(key);
+            }
+        }
+    }
+
+    private void addChunk(Set<ChunkKey> chunks, Location location) {
+        if (location == null || location.getWorld() == null) return;
+        chunks.add(new ChunkKey(location.getWorld().getUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4));
+    }
+
+    /**
+     * Solta os chunks da sessão; o ticket sai quando nenhuma outra sessão usa o chunk
+     */
+    public void release(DungeonSession session) {
+        Set<ChunkKey> chunks = sessionChunks.remove(session.getSessionId());
+        if (chunks == null) return;
+
+        for (ChunkKey key : chunks) {
+            Ticket ticket = tickets.get(key);
+            if (ticket == null || --ticket.references > 0) continue;
+
+            tickets.remove(key);
+            if (ticket.held) {
+                World world = Bukkit.getWorld(key.world);
+                if (world != null) {
+                    world.removePluginChunkTicket(key.x, key.z, plugin);
+                }
+            }
+        }
+    }
+
+    /**
+     * Se o chunk da posição está reservado por uma sessão mas ainda não foi carregado
+     */
+    public boolean isWarming(Location location) {
+        if (location == null || location.getWorld() == null) return false;
+
+        Ticket ticket = tickets.get(new ChunkKey(location.getWorld().getUID(),
+                location.getBlockX() >> 4, location.getBlockZ() >> 4));
+        return ticket != null && !ticket.held;
+    }
+
+    private void tick() {
+        int loads = 0;
+
+        while (!warming.isEmpty() && loads < chunksPerTick) {
+            ChunkKey key = warming.poll();
+            Ticket ticket = tickets.get(key);
+            if (ticket == null || ticket.held) continue; // Liberado antes de carregar
+
+            World world = Bukkit.getWorld(key.world);
+            if (world == null) continue;
+
+            // Chunk já carregado só ganha o ticket e não gasta o orçamento
+            if (!world.isChunkLoaded(key.x, key.z)) {
+                loads++;
+            }
+            world.addPluginChunkTicket(key.x, key.z, plugin);
+            ticket.held = true;
+        }
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    public int getHeldCount() {
+        int held = 0;
+        for (Ticket ticket : tickets.values()) {
+            if (ticket.held) held++;
+        }
+        return held;
+    }
+
+    public int getWarmingCount() {
+        return warming.size();
+    }
+
+    public void stop() {
+        for (World world : Bukkit.getWorlds()) {
+            world.removePluginChunkTickets(plugin);
+        }
+        tickets.clear();
+        sessionChunks.clear();
+        warming.clear();
+    }
+
+    private static class Ticket {
+        private int references;
+        // Ticket já adicionado ao mundo (false enquanto espera na fila)
+        private boolean held;
+    }
+
+    private static class ChunkKey {
+        private final UUID world;
+        private final int x;
+        private final int z;
+
+        ChunkKey(UUID world, int x, int z) {
+            this.world = world;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ChunkKey)) return false;
+            ChunkKey other = (ChunkKey) o;
+            return x == other.x && z == other.z && world.equals(other.world);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * world.hashCode() + x) + z;
+        }
+    }
+}
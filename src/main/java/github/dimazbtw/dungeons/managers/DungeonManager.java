@@ -1,6 +1,7 @@
 package github.dimazbtw.dungeons.managers;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.ArenaSlot;
 import github.dimazbtw.dungeons.models.Dungeon;
 import github.dimazbtw.dungeons.models.DungeonSchedule;
 import github.dimazbtw.dungeons.models.MobSpawnConfig;
@@ -204,58 +205,73 @@ public class DungeonManager {
         // Locations - com fallback para mundos não carregados
         ConfigurationSection locsSection = section.getConfigurationSection("locs");
         if (locsSection != null) {
-            Map<String, List<String>> dungeonPending = new HashMap<>();
-            
-            // Entry locations
-            List<String> entryStrings = locsSection.getStringList("entry");
-            for (String entryLoc : entryStrings) {
-                Location loc = parseLocation(entryLoc);
-                if (loc != null) {
-                    dungeon.addEntryLocation(loc);
-                } else {
-                    dungeonPending.computeIfAbsent("entry", k -> new ArrayList<>()).add(entryLoc);
-                }
+            loadArenaLocations(id, dungeon.getDefaultArena(), locsSection);
+        }
+
+        // Arenas extras: cada uma é uma cópia física com suas próprias localizações
+        ConfigurationSection arenasSection = section.getConfigurationSection("arenas");
+        if (arenasSection != null) {
+            for (String arenaId : arenasSection.getKeys(false)) {
+                ConfigurationSection arenaSection = arenasSection.getConfigurationSection(arenaId);
+                if (arenaSection == null || dungeon.getArena(arenaId) != null) continue;
+
+                ArenaSlot arena = new ArenaSlot(arenaId);
+                loadArenaLocations(id + "/" + arenaId, arena, arenaSection);
+                dungeon.addArena(arena);
             }
+        }
 
-            // Exit location
-            String exitLoc = locsSection.getString("exit");
-            if (exitLoc != null && !exitLoc.isEmpty()) {
-                Location loc = parseLocation(exitLoc);
-                if (loc != null) {
-                    dungeon.setExitLocation(loc);
-                } else {
-                    dungeonPending.computeIfAbsent("exit", k -> new ArrayList<>()).add(exitLoc);
-                }
+        return dungeon;
+    }
+
+    private void loadArenaLocations(String key, ArenaSlot arena, ConfigurationSection locsSection) {
+        Map<String, List<String>> arenaPending = new HashMap<>();
+
+        // Entry locations
+        for (String entryLoc : locsSection.getStringList("entry")) {
+            Location loc = parseLocation(entryLoc);
+            if (loc != null) {
+                arena.addEntryLocation(loc);
+            } else {
+                arenaPending.computeIfAbsent("entry", k -> new ArrayList<>()).add(entryLoc);
             }
+        }
 
-            // Mob spawn locations
-            List<String> mobSpawnStrings = locsSection.getStringList("mobs-spawn");
-            for (String mobLoc : mobSpawnStrings) {
-                Location loc = parseLocation(mobLoc);
-                if (loc != null) {
-                    dungeon.addMobSpawnLocation(loc);
-                } else {
-                    dungeonPending.computeIfAbsent("mobs-spawn", k -> new ArrayList<>()).add(mobLoc);
-                }
+        // Exit location
+        String exitLoc = locsSection.getString("exit");
+        if (exitLoc != null && !exitLoc.isEmpty()) {
+            Location loc = parseLocation(exitLoc);
+            if (loc != null) {
+                arena.setExitLocation(loc);
+            } else {
+                arenaPending.computeIfAbsent("exit", k -> new ArrayList<>()).add(exitLoc);
             }
+        }
 
-            // Boss spawn location
-            String bossLoc = locsSection.getString("boss-spawn");
-            if (bossLoc != null && !bossLoc.isEmpty()) {
-                Location loc = parseLocation(bossLoc);
-                if (loc != null) {
-                    dungeon.setBossSpawnLocation(loc);
-                } else {
-                    dungeonPending.computeIfAbsent("boss-spawn", k -> new ArrayList<>()).add(bossLoc);
-                }
+        // Mob spawn locations
+        for (String mobLoc : locsSection.getStringList("mobs-spawn")) {
+            Location loc = parseLocation(mobLoc);
+            if (loc != null) {
+                arena.addMobSpawnLocation(loc);
+            } else {
+                arenaPending.computeIfAbsent("mobs-spawn", k -> new ArrayList<>()).add(mobLoc);
             }
-            
-            if (!dungeonPending.isEmpty()) {
-                pendingLocations.put(id, dungeonPending);
+        }
+
+        // Boss spawn location
+        String bossLoc = locsSection.getString("boss-spawn");
+        if (bossLoc != null && !bossLoc.isEmpty()) {
+            Location loc = parseLocation(bossLoc);
+            if (loc != null) {
+                arena.setBossSpawnLocation(loc);
+            } else {
+                arenaPending.computeIfAbsent("boss-spawn", k -> new ArrayList<>()).add(bossLoc);
             }
         }
 
-        return dungeon;
+        if (!arenaPending.isEmpty()) {
+            pendingLocations.put(key, arenaPending);
+        }
     }
 
     /**
@@ -269,9 +285,14 @@ public class DungeonManager {
         while (iter.hasNext()) {
             Map.Entry<String, Map<String, List<String>>> entry = iter.next();
             String dungeonId = entry.getKey();
-            Dungeon dungeon = dungeons.get(dungeonId);
-            
-            if (dungeon == null) {
+
+            // Chave "dungeon" (arena padrão) ou "dungeon/arena"
+            String[] key = dungeonId.split("/", 2);
+            Dungeon dungeon = dungeons.get(key[0]);
+            ArenaSlot arena = dungeon == null ? null
+                    : key.length > 1 ? dungeon.getArena(key[1]) : dungeon.getDefaultArena();
+
+            if (arena == null) {
                 iter.remove();
                 continue;
             }
@@ -286,7 +307,7 @@ public class DungeonManager {
                 while (entryIter.hasNext()) {
                     Location loc = parseLocation(entryIter.next());
                     if (loc != null) {
-                        dungeon.addEntryLocation(loc);
+                        arena.addEntryLocation(loc);
                         entryIter.remove();
                     } else {
                         allResolved = false;
@@ -299,7 +320,7 @@ public class DungeonManager {
             if (pendingExit != null && !pendingExit.isEmpty()) {
                 Location loc = parseLocation(pendingExit.get(0));
                 if (loc != null) {
-                    dungeon.setExitLocation(loc);
+                    arena.setExitLocation(loc);
                     pendingExit.clear();
                 } else {
                     allResolved = false;
@@ -313,7 +334,7 @@ public class DungeonManager {
                 while (mobIter.hasNext()) {
                     Location loc = parseLocation(mobIter.next());
                     if (loc != null) {
-                        dungeon.addMobSpawnLocation(loc);
+                        arena.addMobSpawnLocation(loc);
                         mobIter.remove();
                     } else {
                         allResolved = false;
@@ -326,7 +347,7 @@ public class DungeonManager {
             if (pendingBoss != null && !pendingBoss.isEmpty()) {
                 Location loc = parseLocation(pendingBoss.get(0));
                 if (loc != null) {
-                    dungeon.setBossSpawnLocation(loc);
+                    arena.setBossSpawnLocation(loc);
                     pendingBoss.clear();
                 } else {
                     allResolved = false;
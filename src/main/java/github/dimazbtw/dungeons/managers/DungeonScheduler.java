@@ -0,0 +1,312 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Agendador único das dungeons: uma tarefa repetida do Bukkit avança uma
+ * timing wheel hierárquica (4 níveis de 64 slots) com as tarefas de todas as
+ * sessões e jogadores. Agendar e cancelar é O(1); cada tick só visita o slot atual.
+ * <p>
+ * As tarefas vencidas rodam em duas fases: {@link Phase#SESSION} (lógica do jogo,
+ * sempre no tick certo) e depois {@link Phase#PLAYER} (HUD dos jogadores), que é
+ * adiada para o próximo tick quando o tick passa de scheduler.tick-budget
+ * (no máximo MAX_DEFERRALS vezes seguidas, para a HUD nunca parar).
+ * Usado apenas na thread principal.
+ */
+public class DungeonScheduler {
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_DELAY = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    // Vezes seguidas que uma tarefa PLAYER pode ser adiada antes de rodar mesmo fora do orçamento
+    private static final int MAX_DEFERRALS = 2;
+
+    // Peso do último tick na média de custo
+    private static final double COST_SMOOTHING = 0.05;
+
+    public enum Phase {
+        SESSION,
+        PLAYER
+    }
+
+    private final Main plugin;
+    private final List<List<Task>> wheel;
+    private final Map<Object, Set<Task>> owners;
+    private final List<Task> sessionPhase;
+    private final List<Task> playerPhase;
+
+    private BukkitTask task;
+    private long currentTick;
+    private long budgetNanos;
+    private int scheduled;
+
+    // Métricas
+    private long lastTickNanos;
+    private double averageTickNanos;
+    private long peakTickNanos;
+    private long deferred;
+
+    public DungeonScheduler(Main plugin) {
+        this.plugin = plugin;
+        this.wheel = new ArrayList<>(LEVELS * WHEEL_SIZE);
+        for (int i = 0; i < LEVELS * WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<>());
+        }
+        this.owners = new HashMap<>();
+        this.sessionPhase = new ArrayList<>();
+        this.playerPhase = new ArrayList<>();
+        loadConfig();
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private void loadConfig() {
+        double budgetMillis = plugin.getConfig().getDouble("scheduler.tick-budget", 5.0);
+        this.budgetNanos = budgetMillis > 0 ? (long) (budgetMillis * 1_000_000L) : Long.MAX_VALUE;
+    }
+
+    // ==================== AGENDAMENTO ====================
+
+    /**
+     * Executa uma vez depois de {@code delay} ticks (mínimo 1)
+     */
+    public Task runLater(Object owner, Phase phase, long delay, Runnable action) {
+        return schedule(owner, phase, delay, 0, task -> action.run());
+    }
+
+    /**
+     * Executa a cada {@code period} ticks a partir de {@code delay}. A tarefa recebe
+     * o próprio handle para poder se cancelar.
+     */
+    public Task runTimer(Object owner, Phase phase, long delay, long period, Consumer<Task> action) {
+        return schedule(owner, phase, delay, Math.max(1, period), action);
+    }
+
+    private Task schedule(Object owner, Phase phase, long delay, long period, Consumer<Task> action) {
+        Task task = new Task(owner, phase, period, action);
+        if (owner != null) {
+            owners.computeIfAbsent(owner, k -> new HashSet<>()).add(task);
+        }
+        scheduled++;
+        insert(task, currentTick + Math.max(1, Math.min(delay, MAX_DELAY)));
+        return task;
+    }
+
+    /**
+     * Cancela todas as tarefas de um dono (sessão ou jogador)
+     */
+    public void cancelAll(Object owner) {
+        Set<Task> tasks = owners.remove(owner);
+        if (tasks == null) return;
+
+        for (Task task : tasks) {
+            task.cancelled = true;
+        }
+    }
+
+    private void insert(Task task, long deadline) {
+        task.deadline = deadline;
+        long delta = deadline - currentTick;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+
+        int slot = (int) ((deadline >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        wheel.get(level * WHEEL_SIZE + slot).add(task);
+    }
+
+    // ==================== TICK ====================
+
+    private void tick() {
+        long start = System.nanoTime();
+        currentTick++;
+
+        // Redistribui os níveis superiores quando o nível de baixo dá a volta
+        for (int level = 1; level < LEVELS; level++) {
+            if (((currentTick >>> (WHEEL_BITS * (level - 1))) & WHEEL_MASK) != 0) break;
+            cascade(level, (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK));
+        }
+
+        List<Task> slot = wheel.get((int) (currentTick & WHEEL_MASK));
+        if (!slot.isEmpty()) {
+            for (Task task : slot) {
+                if (task.cancelled) {
+                    finish(task);
+                } else if (task.phase == Phase.SESSION) {
+                    sessionPhase.add(task);
+                } else {
+                    playerPhase.add(task);
+                }
+            }
+            slot.clear();
+
+            for (Task task : sessionPhase) {
+                run(task);
+            }
+
+            for (Task task : playerPhase) {
+                if (System.nanoTime() - start > budgetNanos && !task.cancelled
+                        && task.deferrals < MAX_DEFERRALS) {
+                    // Fora do orçamento: fica para o próximo tick
+                    task.deferrals++;
+                    insert(task, currentTick + 1);
+                    deferred++;
+                    continue;
+                }
+                task.deferrals = 0;
+                run(task);
+            }
+
+            sessionPhase.clear();
+            playerPhase.clear();
+        }
+
+        lastTickNanos = System.nanoTime() - start;
+        averageTickNanos += COST_SMOOTHING * (lastTickNanos - averageTickNanos);
+        if (lastTickNanos > peakTickNanos) {
+            peakTickNanos = lastTickNanos;
+        }
+    }
+
+    private void cascade(int level, int index) {
+        List<Task> slot = wheel.get(level * WHEEL_SIZE + index);
+        if (slot.isEmpty()) return;
+
+        List<Task> tasks = new ArrayList<>(slot);
+        slot.clear();
+        for (Task task : tasks) {
+            if (task.cancelled) {
+                finish(task);
+            } else {
+                insert(task, task.deadline);
+            }
+        }
+    }
+
+    private void run(Task task) {
+        if (task.cancelled) {
+            finish(task);
+            return;
+        }
+
+        try {
+            task.action.accept(task);
+        } catch (Exception e) {
+            plugin.getLogger().warning("Dungeon task failed: " + e);
+            task.cancelled = true;
+        }
+
+        if (task.period > 0 && !task.cancelled) {
+            insert(task, currentTick + task.period);
+        } else {
+            finish(task);
+        }
+    }
+
+    private void finish(Task task) {
+        task.cancelled = true;
+        scheduled--;
+
+        if (task.owner != null) {
+            Set<Task> tasks = owners.get(task.owner);
+            if (tasks != null && tasks.remove(task) && tasks.isEmpty()) {
+                owners.remove(task.owner);
+            }
+        }
+    }
+
+    /**
+     * Número do tick atual do agendador (cresce 1 por tick do servidor)
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    public int getScheduledCount() {
+        return scheduled;
+    }
+
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    public double getAverageTickMillis() {
+        return averageTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * Maior custo de um tick desde o último reset das métricas
+     */
+    public double getPeakTickMillis() {
+        return peakTickNanos / 1_000_000.0;
+    }
+
+    public long getDeferredCount() {
+        return deferred;
+    }
+
+    public double getBudgetMillis() {
+        return budgetNanos == Long.MAX_VALUE ? 0 : budgetNanos / 1_000_000.0;
+    }
+
+    public void resetMetrics() {
+        peakTickNanos = 0;
+        deferred = 0;
+    }
+
+    public void reload() {
+        loadConfig();
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (List<Task> slot : wheel) {
+            slot.clear();
+        }
+        owners.clear();
+        scheduled = 0;
+    }
+
+    /**
+     * Handle de uma tarefa agendada
+     */
+    public static final class Task {
+        private final Object owner;
+        private final Phase phase;
+        private final long period;
+        private final Consumer<Task> action;
+        private long deadline;
+        private boolean cancelled;
+        // Adiamentos seguidos por falta de orçamento
+        private int deferrals;
+
+        private Task(Object owner, Phase phase, long period, Consumer<Task> action) {
+            this.owner = owner;
+            this.phase = phase;
+            this.period = period;
+            this.action = action;
+        }
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.DungeonSession;
+
+import java.util.*;
+
+/**
+ * Orçamento global de mobs das dungeons. O limite entity-budget.max-mobs é
+ * dividido entre as sessões em andamento na proporção do tamanho da party,
+ * sem passar do mob-limit de cada dungeon (a sobra de quem precisa menos vai
+ * para as outras). Uma sessão sem vaga no seu lease adia os spawns.
+ * Cada sessão recebe ao menos um mob, então com mais sessões do que
+ * max-mobs a soma dos leases passa do limite em até uma unidade por sessão.
+ */
+public class EntityBudget {
+
+    // Ticks entre recálculos dos leases
+    private static final long REALLOCATE_INTERVAL = 20L;
+
+    private final Main plugin;
+    private final Map<String, Integer> leases;
+
+    private int maxMobs;
+    private long deferred;
+    // Tick do último recálculo; sessões sem lease não forçam outro no mesmo tick
+    private long lastReallocateTick = -1;
+
+    public EntityBudget(Main plugin) {
+        this.plugin = plugin;
+        this.leases = new HashMap<>();
+        loadConfig();
+        plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.SESSION,
+                REALLOCATE_INTERVAL, REALLOCATE_INTERVAL, task -> reallocate());
+    }
+
+    private void loadConfig() {
+        this.maxMobs = Math.max(0, plugin.getConfig().getInt("entity-budget.max-mobs", 200));
+    }
+
+    public void reload() {
+        loadConfig();
+        reallocate();
+    }
+
+    public boolean isEnabled() {
+        return maxMobs > 0;
+    }
+
+    /**
+     * Redistribui o orçamento entre as sessões em andamento (water-filling ponderado
+     * pelo número de jogadores: quem tem teto menor que a parte justa libera a sobra)
+     */
+    public void reallocate() {
+        leases.clear();
+        lastReallocateTick = plugin.getDungeonScheduler().getCurrentTick();
+
+        List<DungeonSession> active = new ArrayList<>();
+        for (DungeonSession session : plugin.getSessionManager().getAllSessions()) {
+            if (session.isInProgress() || session.isBossRound()) {
+                active.add(session);
+            }
+        }
+        if (active.isEmpty()) return;
+
+        if (!isEnabled()) {
+            for (DungeonSession session : active) {
+                leases.put(session.getSessionId(), getCap(session));
+            }
+            return;
+        }
+
+        // Menor teto por jogador primeiro: essas sessões liberam sobra para as seguintes
+        active.sort(Comparator.comparingDouble(session -> (double) getCap(session) / getWeight(session)));
+
+        int remaining = maxMobs;
+        int remainingWeight = 0;
+        for (DungeonSession session : active) {
+            remainingWeight += getWeight(session);
+        }
+
+        for (DungeonSession session : active) {
+            int weight = getWeight(session);
+            // Ao menos um mob por sessão, senão o round nunca termina (pode estourar max-mobs)
+            int share = (int) ((long) remaining * weight / remainingWeight);
+            int lease = Math.min(getCap(session), Math.max(1, share));
+
+            leases.put(session.getSessionId(), lease);
+            remaining = Math.max(0, remaining - lease);
+            remainingWeight -= weight;
+        }
+    }
+
+    private int getCap(DungeonSession session) {
+        return plugin.getDungeonManager().getMobLimit(session.getDungeon().getId());
+    }
+
+    private int getWeight(DungeonSession session) {
+        return Math.max(1, session.getPlayerCount());
+    }
+
+    // ==================== LEASES ====================
+
+    /**
+     * Mobs que a sessão pode ter vivos ao mesmo tempo
+     */
+    public int getLease(DungeonSession session) {
+        Integer lease = leases.get(session.getSessionId());
+        if (lease == null && lastReallocateTick != plugin.getDungeonScheduler().getCurrentTick()) {
+            // Sessão que começou depois do último recálculo; uma que segue fora
+            // de andamento fica sem lease até o próximo tick
+            reallocate();
+            lease = leases.get(session.getSessionId());
+        }
+        return lease != null ? lease : 0;
+    }
+
+    /**
+     * Se a sessão tem vaga para mais um mob agora; conta como adiamento quando não tem
+     */
+    public boolean tryAcquire(DungeonSession session) {
+        if (session.getAliveMobCount() < getLease(session)) {
+            return true;
+        }
+        deferred++;
+        return false;
+    }
+
+    public int getMaxMobs() {
+        return maxMobs;
+    }
+
+    /**
+     * Mobs vivos somando todas as sessões
+     */
+    public int getUsage() {
+        int usage = 0;
+        for (DungeonSession session : plugin.getSessionManager().getAllSessions()) {
+            usage += session.getAliveMobCount();
+        }
+        return usage;
+    }
+
+    public long getDeferredCount() {
+        return deferred;
+    }
+
+    public void resetMetrics() {
+        deferred = 0;
+    }
+}
@@ -2,7 +2,9 @@ package github.dimazbtw.dungeons.managers;
 
 import github.dimazbtw.dungeons.Main;
 import github.dimazbtw.dungeons.models.DungeonEquipment;
-import org.bukkit.Material;
+import github.dimazbtw.dungeons.storage.AtomicFiles;
+import github.dimazbtw.dungeons.storage.WriteBehindQueue;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
@@ -10,6 +12,9 @@ import org.bukkit.inventory.ItemStack;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -19,6 +24,8 @@ public class EquipmentManager {
     private final Main plugin;
     private final Map<UUID, DungeonEquipment> equipmentCache;
     private final File dataFolder;
+    // YAML já serializado na thread principal, gravado na thread de I/O
+    private final WriteBehindQueue<UUID, String> writeQueue;
 
     public EquipmentManager(Main plugin) {
         this.plugin = plugin;
@@ -28,6 +35,8 @@ public class EquipmentManager {
         if (!dataFolder.exists()) {
             dataFolder.mkdirs();
         }
+
+        this.writeQueue = new WriteBehindQueue<>("equipment", plugin.getLogger(), this::writeBatch);
     }
 
     /**
@@ -43,13 +52,33 @@ public class EquipmentManager {
     private DungeonEquipment loadEquipment(UUID playerId) {
         File file = new File(dataFolder, playerId.toString() + ".yml");
         DungeonEquipment equipment = new DungeonEquipment(playerId);
+        YamlConfiguration config = new YamlConfiguration();
+        boolean recovered = false;
 
-        if (!file.exists()) {
-            return equipment;
+        try {
+            // Uma escrita ainda pendente é mais recente que o arquivo
+            String pending = writeQueue.getPending(playerId);
+            if (pending != null) {
+                config.loadFromString(pending);
+            } else if (file.exists()) {
+                config.load(file);
+            } else {
+                return equipment;
+            }
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Corrupted equipment file for " + playerId + ": " + e.getMessage());
+            config = loadBackup(file);
+            if (config == null) {
+                // O original fica no lugar; o próximo join tenta ler de novo
+                keepCorruptCopy(file);
+                plugin.getLogger().severe("Equipment of " + playerId
+                        + " could not be loaded. Changes made this session will not be saved.");
+                equipment.markUnreadable();
+                return equipment;
+            }
+            recovered = true;
         }
 
-        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-
         // Carregar armadura
         if (config.contains("armor.helmet")) {
             equipment.setHelmet(config.getItemStack("armor.helmet"));
@@ -72,17 +101,48 @@ public class EquipmentManager {
             equipment.setExtraItem2(config.getItemStack("extras.item2"));
         }
 
+        // Recuperado do backup: continua sujo para ser regravado
+        if (!recovered) {
+            equipment.clearDirty();
+        }
         return equipment;
     }
 
+    // Cópia para recuperação manual; o original continua no lugar
+    private void keepCorruptCopy(File file) {
+        if (!file.exists()) return;
+
+        try {
+            Files.copy(file.toPath(), new File(dataFolder, file.getName() + ".corrupt").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to copy " + file.getName() + " for recovery: " + e.getMessage());
+        }
+    }
+
+    private YamlConfiguration loadBackup(File file) {
+        File backup = AtomicFiles.backupOf(file);
+        if (!backup.exists()) return null;
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(backup);
+            plugin.getLogger().warning("Recovered " + file.getName() + " from the previous save");
+            return config;
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Previous save of " + file.getName() + " is also unreadable: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
-     * Salva equipamento no arquivo
+     * Agenda a gravação do equipamento (apenas se foi alterado).
+     * O YAML é montado aqui; a escrita acontece na thread de I/O.
      */
     public void saveEquipment(UUID playerId) {
         DungeonEquipment equipment = equipmentCache.get(playerId);
-        if (equipment == null) return;
+        if (equipment == null || !equipment.isDirty() || equipment.isUnreadable()) return;
 
-        File file = new File(dataFolder, playerId.toString() + ".yml");
         FileConfiguration config = new YamlConfiguration();
 
         // Salvar armadura
@@ -95,11 +155,23 @@ public class EquipmentManager {
         config.set("extras.item1", equipment.getExtraItem1());
         config.set("extras.item2", equipment.getExtraItem2());
 
-        try {
-            config.save(file);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save equipment for " + playerId);
-            e.printStackTrace();
+        equipment.clearDirty();
+        writeQueue.submit(playerId, config.saveToString());
+    }
+
+    private void writeBatch(Map<UUID, String> batch) throws IOException {
+        IOException failure = null;
+        for (Map.Entry<UUID, String> entry : batch.entrySet()) {
+            File file = new File(dataFolder, entry.getKey().toString() + ".yml");
+            try {
+                AtomicFiles.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                plugin.getLogger().severe("Failed to save equipment for " + entry.getKey());
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
@@ -242,10 +314,24 @@ public class EquipmentManager {
     }
 
     /**
-     * Carrega equipamento quando jogador entra
+     * Carrega equipamento quando jogador entra (um arquivo ilegível é lido de novo a cada join)
      */
     public void loadPlayer(UUID playerId) {
-        equipmentCache.put(playerId, loadEquipment(playerId));
+        loadPlayer(playerId, null);
+    }
+
+    /**
+     * Usa o equipamento pré-carregado no pre-login, se houver
+     */
+    public void loadPlayer(UUID playerId, DungeonEquipment prefetched) {
+        equipmentCache.put(playerId, prefetched != null ? prefetched : loadEquipment(playerId));
+    }
+
+    /**
+     * Lê o equipamento do arquivo sem colocar em cache. Seguro fora da thread principal.
+     */
+    public DungeonEquipment fetch(UUID playerId) {
+        return loadEquipment(playerId);
     }
 
     /**
@@ -264,4 +350,13 @@ public class EquipmentManager {
             saveEquipment(playerId);
         }
     }
+
+    /**
+     * Salva tudo e espera (com limite) a fila de escrita esvaziar
+     */
+    public void shutdown() {
+        saveAll();
+        long timeout = plugin.getConfig().getLong("storage.shutdown-timeout", 10) * 1000L;
+        writeQueue.shutdown(timeout);
+    }
 }
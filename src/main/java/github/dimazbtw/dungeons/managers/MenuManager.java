@@ -67,7 +67,12 @@ public class MenuManager {
     }
 
     public void openRewardsMenu(Player player) {
-        new RewardsMenu(plugin, player).open();
+        // Garante que o shard de recompensas foi carregado antes de abrir
+        plugin.getRewardManager().loadPlayer(player.getUniqueId()).thenRun(() -> {
+            if (player.isOnline()) {
+                new RewardsMenu(plugin, player).open();
+            }
+        });
     }
 
     public void openPerksMenu(Player player) {
@@ -0,0 +1,145 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.ActiveMob;
+import github.dimazbtw.dungeons.models.ActiveMob.AiLevel;
+import github.dimazbtw.dungeons.models.DungeonSession;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Nível de detalhe da IA dos mobs pela distância da party. Até o range do mob
+ * (mobs.yml / bosses.yml) a IA é completa; além dele o mob para de procurar
+ * caminho (setAware false); além de range x ai-lod.dormant-multiplier ele fica
+ * parado e sem colisão. Cada mob é reavaliado a cada ai-lod.interval ticks:
+ * no início do ciclo os mobs são divididos em baldes pelo id da entidade e
+ * cada tick só percorre o seu balde. Mobs que nascem no meio do ciclo entram
+ * no próximo (já nascem com IA completa).
+ * Desligado por padrão: com ranges curtos um mob REDUCED não procura alvo e
+ * um DORMANT fica parado até a party chegar perto.
+ */
+public class MobAiManager {
+
+    private final Main plugin;
+
+    private boolean enabled;
+    private double dormantMultiplier;
+    private int interval;
+    private int slot;
+    private List<ActiveMob>[] buckets;
+
+    public MobAiManager(Main plugin) {
+        this.plugin = plugin;
+        loadConfig();
+        // HUD-like: pode ser adiado quando o tick está cheio
+        plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.PLAYER, 1L, 1L, task -> tick());
+    }
+
+    private void loadConfig() {
+        this.enabled = plugin.getConfig().getBoolean("ai-lod.enabled", false);
+        this.dormantMultiplier = Math.max(1.0, plugin.getConfig().getDouble("ai-lod.dormant-multiplier", 2.0));
+        this.interval = Math.max(1, plugin.getConfig().getInt("ai-lod.interval", 10));
+        this.buckets = newBuckets(interval);
+        this.slot = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ActiveMob>[] newBuckets(int count) {
+        List<ActiveMob>[] buckets = new List[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        return buckets;
+    }
+
+    public void reload() {
+        loadConfig();
+
+        if (!enabled) {
+            // Devolve a IA completa a todos os mobs
+            plugin.getMobManager().forEachActiveMob(mob -> apply(mob, AiLevel.FULL));
+        }
+    }
+
+    private void tick() {
+        if (!enabled) return;
+
+        if (slot == 0) {
+            // Uma passada por ciclo para distribuir os mobs nos baldes
+            plugin.getMobManager().forEachActiveMob(mob ->
+                    buckets[Math.floorMod(mob.getEntityNumber(), interval)].add(mob));
+        }
+
+        List<ActiveMob> bucket = buckets[slot];
+        for (ActiveMob mob : bucket) {
+            evaluate(mob);
+        }
+        bucket.clear();
+        slot = (slot + 1) % interval;
+    }
+
+    private void evaluate(ActiveMob mob) {
+        LivingEntity entity = mob.getEntity();
+        // Mob morto ou estacionado no pool desde o início do ciclo
+        if (!entity.isValid() || plugin.getMobManager().getActiveMob(entity) != mob) return;
+
+        DungeonSession session = mob.getSession();
+        double distanceSquared = session.getNearestAlivePlayerDistanceSquared(entity.getLocation());
+        double range = mob.getRange();
+        double dormantRange = range * dormantMultiplier;
+
+        AiLevel level;
+        if (range <= 0 || distanceSquared <= range * range) {
+            level = AiLevel.FULL;
+        } else if (distanceSquared <= dormantRange * dormantRange) {
+            // Quem já está perseguindo um jogador não desiste fora do range
+            level = entity instanceof Mob creature && creature.getTarget() instanceof Player
+                    ? AiLevel.FULL
+                    : AiLevel.REDUCED;
+        } else {
+            level = AiLevel.DORMANT;
+        }
+
+        apply(mob, level);
+    }
+
+    private void apply(ActiveMob mob, AiLevel level) {
+        if (mob.getAiLevel() == level) return;
+
+        LivingEntity entity = mob.getEntity();
+        switch (level) {
+            case FULL -> {
+                entity.setAI(true);
+                if (entity instanceof Mob creature) creature.setAware(true);
+                entity.setCollidable(true);
+            }
+            case REDUCED -> {
+                entity.setAI(true);
+                if (entity instanceof Mob creature) creature.setAware(false);
+                entity.setCollidable(true);
+            }
+            case DORMANT -> {
+                entity.setAI(false);
+                entity.setCollidable(false);
+            }
+        }
+        mob.setAiLevel(level);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Quantos mobs estão em cada nível (índice = ordinal do {@link AiLevel})
+     */
+    public int[] getLevelCounts() {
+        int[] counts = new int[AiLevel.values().length];
+        plugin.getMobManager().forEachActiveMob(mob -> counts[mob.getAiLevel().ordinal()]++);
+        return counts;
+    }
+}
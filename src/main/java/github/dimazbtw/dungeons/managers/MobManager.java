@@ -5,31 +5,103 @@ import github.dimazbtw.dungeons.models.ActiveMob;
 import github.dimazbtw.dungeons.models.DungeonMob;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import github.dimazbtw.dungeons.utils.EquipmentParser;
+import github.dimazbtw.dungeons.utils.IntObjectHashMap;
 import github.dimazbtw.lib.utils.basics.ColorUtils;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.*;
 import org.bukkit.inventory.EntityEquipment;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.metadata.FixedMetadataValue;
+import org.bukkit.persistence.PersistentDataType;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class MobManager {
 
     private final Main plugin;
     private final Map<String, DungeonMob> mobs;
-    private final Map<UUID, ActiveMob> activeMobs;
+    // Registro dos mobs vivos por id numérico da entidade (fonte única; só na thread principal)
+    private final IntObjectHashMap<ActiveMob> activeMobs;
+    // Marca persistente: identifica mobs que sobraram de um desligamento sem limpeza
+    private final NamespacedKey markerKey;
+    // Reaproveitada ao ler a posição de cada mob na reconstrução dos índices
+    private final Location scratch;
+
+    // Reconciliação do contador de mobs vivos
+    private DungeonScheduler.Task reconcileTask;
+    private int lastDrift;
+    private long totalDrift;
+    private long lastReconcile;
 
     public MobManager(Main plugin) {
         this.plugin = plugin;
         this.mobs = new HashMap<>();
-        this.activeMobs = new ConcurrentHashMap<>();
+        this.activeMobs = new IntObjectHashMap<>();
+        this.markerKey = new NamespacedKey(plugin, "dungeon_mob");
+        this.scratch = new Location(null, 0, 0, 0);
         loadMobs();
+        startReconcileTask();
+        plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.SESSION, 1L, 1L, task -> rebuildIndexes());
+    }
+
+    /**
+     * Refaz o índice espacial de cada sessão a partir do registro, uma vez por tick.
+     * Thor, Shockwave e habilidades de boss consultam só os mobs da própria sessão.
+     */
+    private void rebuildIndexes() {
+        if (plugin.getSessionManager() == null) return;
+
+        for (DungeonSession session : plugin.getSessionManager().getAllSessions()) {
+            session.getMobIndex().clear();
+        }
+        activeMobs.forEach(mob -> {
+            LivingEntity entity = mob.getEntity();
+            if (!entity.isValid()) return;
+
+            entity.getLocation(scratch);
+            mob.getSession().getMobIndex().add(scratch.getX(), scratch.getY(), scratch.getZ(), mob);
+        });
+    }
+
+    private void startReconcileTask() {
+        if (reconcileTask != null) {
+            reconcileTask.cancel();
+        }
+
+        long interval = Math.max(1, plugin.getConfig().getLong("dungeon-settings.mob-reconcile-interval", 30)) * 20L;
+        reconcileTask = plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.SESSION,
+                interval, interval, task -> reconcile());
+    }
+
+    /**
+     * Confere os mobs de cada sessão contra o mundo e corrige o que os eventos
+     * não viram (ex.: entidades removidas por outros plugins)
+     */
+    public int reconcile() {
+        if (plugin.getSessionManager() == null) return 0;
+
+        int drift = 0;
+        for (DungeonSession session : new ArrayList<>(plugin.getSessionManager().getAllSessions())) {
+            int corrected = session.reconcileMobs();
+            if (corrected > 0) {
+                drift += corrected;
+                // O último mob da ronda pode ter sumido sem evento de morte
+                plugin.getSessionManager().checkRoundProgress(session);
+            }
+        }
+        activeMobs.removeIf(mob -> plugin.getServer().getEntity(mob.getEntityId()) == null);
+
+        lastDrift = drift;
+        totalDrift += drift;
+        lastReconcile = System.currentTimeMillis();
+        return drift;
     }
 
     private void loadMobs() {
@@ -161,6 +233,7 @@ public class MobManager {
 
     public void reload() {
         loadMobs();
+        startReconcileTask();
     }
 
     public DungeonMob getMob(String id) {
@@ -183,6 +256,14 @@ public class MobManager {
             return null;
         }
 
+        // Entidade do pool já vem com atributos e equipamento do mesmo DungeonMob
+        LivingEntity pooled = isBoss ? null : plugin.getMobPool().take(session, mob.getId(), location);
+        if (pooled != null) {
+            track(pooled, mob.getId(), session, false, mob.getRange());
+            plugin.getEffectsManager().playSpawnEffects(location);
+            return pooled;
+        }
+
         LivingEntity entity = (LivingEntity) location.getWorld().spawnEntity(location, mob.getEntityType());
 
         // Set display name
@@ -235,22 +316,11 @@ public class MobManager {
             equipment.setItemInOffHandDropChance(0);
         }
 
-        // Set metadata
-        entity.setMetadata("dungeonMob", new FixedMetadataValue(plugin, mob.getId()));
-        entity.setMetadata("dungeonSession", new FixedMetadataValue(plugin, session.getSessionId()));
-        if (isBoss) {
-            entity.setMetadata("dungeonBoss", new FixedMetadataValue(plugin, true));
-        }
-
         // Remove default drops
         entity.setRemoveWhenFarAway(false);
 
-        // Track active mob
-        ActiveMob activeMob = new ActiveMob(entity, mob.getId(), session.getSessionId(), isBoss);
-        activeMobs.put(entity.getUniqueId(), activeMob);
-
-        // Add to session
-        session.addMob(entity);
+        // Track active mob and add to session
+        track(entity, mob.getId(), session, isBoss, mob.getRange());
 
         // Efeitos de spawn
         if (isBoss) {
@@ -262,33 +332,101 @@ public class MobManager {
         return entity;
     }
 
+    /**
+     * Registra um mob (ou boss) recém-criado da sessão e grava a marca persistente
+     */
+    public void track(LivingEntity entity, String mobId, DungeonSession session, boolean isBoss, double range) {
+        entity.getPersistentDataContainer().set(markerKey, PersistentDataType.STRING, mobId);
+        activeMobs.put(entity.getEntityId(), new ActiveMob(entity, mobId, session, isBoss, range));
+        session.addMob(entity);
+    }
+
     public void removeMob(Entity entity) {
-        activeMobs.remove(entity.getUniqueId());
+        activeMobs.remove(entity.getEntityId());
         if (!entity.isDead()) {
             entity.remove();
         }
     }
 
+    /**
+     * Para de rastrear um mob que morreu
+     */
+    public void untrack(Entity entity) {
+        activeMobs.remove(entity.getEntityId());
+    }
+
+    /**
+     * Mob descarregado junto com o chunk: sai da sessão e do mundo, senão voltaria como órfão
+     */
+    public void onMobUnloaded(Entity entity) {
+        ActiveMob activeMob = activeMobs.remove(entity.getEntityId());
+        entity.remove();
+        if (activeMob != null) {
+            activeMob.getSession().removeMob(entity);
+            plugin.getSessionManager().onMobLost(activeMob.getSession(), activeMob.isBoss());
+        }
+    }
+
+    /**
+     * Entidade com a marca de mob de dungeon que não está no registro: sobrou de
+     * um reinício ou crash e não pertence a nenhuma sessão
+     */
+    public boolean isOrphan(Entity entity) {
+        return !activeMobs.containsKey(entity.getEntityId())
+                && entity.getPersistentDataContainer().has(markerKey, PersistentDataType.STRING);
+    }
+
+    /**
+     * Remove os mobs órfãos dos chunks já carregados. Retorna quantos saíram.
+     */
+    public int removeOrphans() {
+        int removed = 0;
+        for (World world : Bukkit.getWorlds()) {
+            for (LivingEntity entity : world.getLivingEntities()) {
+                if (isOrphan(entity)) {
+                    entity.remove();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+
+    // Consultas do registro: uma sondagem, sem alocação
+
     public ActiveMob getActiveMob(Entity entity) {
-        return activeMobs.get(entity.getUniqueId());
+        return activeMobs.get(entity.getEntityId());
     }
 
     public boolean isDungeonMob(Entity entity) {
-        return entity.hasMetadata("dungeonMob");
+        return activeMobs.containsKey(entity.getEntityId());
     }
 
     public String getMobId(Entity entity) {
-        if (!entity.hasMetadata("dungeonMob")) return null;
-        return entity.getMetadata("dungeonMob").get(0).asString();
+        ActiveMob activeMob = activeMobs.get(entity.getEntityId());
+        return activeMob != null ? activeMob.getMobId() : null;
     }
 
     public String getSessionId(Entity entity) {
-        if (!entity.hasMetadata("dungeonSession")) return null;
-        return entity.getMetadata("dungeonSession").get(0).asString();
+        ActiveMob activeMob = activeMobs.get(entity.getEntityId());
+        return activeMob != null ? activeMob.getSessionId() : null;
+    }
+
+    public DungeonSession getSession(Entity entity) {
+        ActiveMob activeMob = activeMobs.get(entity.getEntityId());
+        return activeMob != null ? activeMob.getSession() : null;
     }
 
     public boolean isBoss(Entity entity) {
-        return entity.hasMetadata("dungeonBoss");
+        ActiveMob activeMob = activeMobs.get(entity.getEntityId());
+        return activeMob != null && activeMob.isBoss();
+    }
+
+    /**
+     * Percorre todos os mobs vivos registrados (sem cópia)
+     */
+    public void forEachActiveMob(Consumer<ActiveMob> action) {
+        activeMobs.forEach(action);
     }
 
     public void clearSessionMobs(DungeonSession session) {
@@ -299,6 +437,20 @@ public class MobManager {
             }
         }
         session.getActiveMobs().clear();
+        plugin.getMobPool().clear(session);
+    }
+
+    // Métricas de reconciliação
+    public int getLastDrift() {
+        return lastDrift;
+    }
+
+    public long getTotalDrift() {
+        return totalDrift;
+    }
+
+    public long getLastReconcile() {
+        return lastReconcile;
     }
 
     public Collection<DungeonMob> getAllMobs() {
@@ -0,0 +1,173 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.DungeonSession;
+import org.bukkit.Location;
+import org.bukkit.attribute.Attribute;
+import org.bukkit.attribute.AttributeInstance;
+import org.bukkit.entity.LivingEntity;
+import org.bukkit.entity.Mob;
+import org.bukkit.potion.PotionEffect;
+import org.bukkit.util.Vector;
+
+import java.util.*;
+
+/**
+ * Pool opcional (mob-pool.enabled) de entidades já configuradas por sessão.
+ * Um mob morto vai para o pool em vez de morrer: fica invisível, sem IA e
+ * invulnerável, enterrado abaixo do ponto onde nasceu (no mesmo chunk, que a
+ * arena mantém carregado). A próxima wave do mesmo DungeonMob reaproveita a
+ * entidade, sem spawnEntity nem atributos e equipamento de novo.
+ * Mobs no pool + mobs vivos nunca passam do mob-limit da sessão.
+ */
+public class MobPool {
+
+    private final Main plugin;
+    // sessão -> id do DungeonMob -> entidades estacionadas
+    private final Map<String, Map<String, ArrayDeque<LivingEntity>>> pools;
+
+    private boolean enabled;
+    private long reused;
+
+    public MobPool(Main plugin) {
+        this.plugin = plugin;
+        this.pools = new HashMap<>();
+        loadConfig();
+    }
+
+    private void loadConfig() {
+        this.enabled = plugin.getConfig().getBoolean("mob-pool.enabled", false);
+    }
+
+    public void reload() {
+        loadConfig();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Se ainda cabe um mob no pool da sessão sem passar do mob-limit
+     */
+    public boolean canPark(DungeonSession session) {
+        if (!enabled || session.isEnded()) return false;
+
+        int limit = plugin.getDungeonManager().getMobLimit(session.getDungeon().getId());
+        return getParkedCount(session) + session.getAliveMobCount() < limit;
+    }
+
+    /**
+     * Estaciona um mob que acabou de "morrer" (já fora do registro e da sessão)
+     */
+    public void park(DungeonSession session, String mobId, LivingEntity entity) {
+        if (entity instanceof Mob mob) {
+            mob.setTarget(null);
+        }
+        entity.setAI(false);
+        entity.setInvisible(true);
+        entity.setInvulnerable(true);
+        entity.setSilent(true);
+        entity.setGravity(false);
+        entity.setCollidable(false);
+        entity.setCustomNameVisible(false);
+        entity.setFireTicks(0);
+        entity.setVelocity(new Vector());
+
+        // Dentro do chão, no fundo do mundo e no mesmo chunk: fora da vista dos jogadores
+        Location parking = entity.getLocation();
+        parking.setY(parking.getWorld().getMinHeight() + 1);
+        entity.teleport(parking);
+
+        pools.computeIfAbsent(session.getSessionId(), k -> new HashMap<>())
+                .computeIfAbsent(mobId, k -> new ArrayDeque<>())
+                .add(entity);
+    }
+
+    /**
+     * Retira do pool uma entidade do DungeonMob, pronta para nascer em {@code location},
+     * ou null se não houver
+     */
+    public LivingEntity take(DungeonSession session, String mobId, Location location) {
+        if (!enabled) return null;
+
+        Map<String, ArrayDeque<LivingEntity>> pool = pools.get(session.getSessionId());
+        ArrayDeque<LivingEntity> parked = pool != null ? pool.get(mobId) : null;
+        if (parked == null) return null;
+
+        LivingEntity entity;
+        while ((entity = parked.poll()) != null) {
+            // Removida por outro plugin ou descarregada enquanto estava no pool
+            if (!entity.isValid()) continue;
+
+            reset(entity);
+            entity.teleport(location);
+            reused++;
+            return entity;
+        }
+        return null;
+    }
+
+    private void reset(LivingEntity entity) {
+        AttributeInstance maxHealth = entity.getAttribute(Attribute.GENERIC_MAX_HEALTH);
+        if (maxHealth != null) {
+            entity.setHealth(maxHealth.getValue());
+        }
+        for (PotionEffect effect : entity.getActivePotionEffects()) {
+            entity.removePotionEffect(effect.getType());
+        }
+
+        entity.setFireTicks(0);
+        entity.setFallDistance(0);
+        entity.setNoDamageTicks(0);
+        entity.setAI(true);
+        if (entity instanceof Mob mob) {
+            mob.setAware(true);
+        }
+        entity.setInvisible(false);
+        entity.setInvulnerable(false);
+        entity.setSilent(false);
+        entity.setGravity(true);
+        entity.setCollidable(true);
+        entity.setCustomNameVisible(true);
+    }
+
+    /**
+     * Remove do mundo as entidades estacionadas da sessão (fim da sessão)
+     */
+    public void clear(DungeonSession session) {
+        Map<String, ArrayDeque<LivingEntity>> pool = pools.remove(session.getSessionId());
+        if (pool == null) return;
+
+        for (ArrayDeque<LivingEntity> parked : pool.values()) {
+            for (LivingEntity entity : parked) {
+                entity.remove();
+            }
+        }
+    }
+
+    public int getParkedCount(DungeonSession session) {
+        Map<String, ArrayDeque<LivingEntity>> pool = pools.get(session.getSessionId());
+        if (pool == null) return 0;
+
+        int count = 0;
+        for (ArrayDeque<LivingEntity> parked : pool.values()) {
+            count += parked.size();
+        }
+        return count;
+    }
+
+    public int getParkedCount() {
+        int count = 0;
+        for (Map<String, ArrayDeque<LivingEntity>> pool : pools.values()) {
+            for (ArrayDeque<LivingEntity> parked : pool.values()) {
+                count += parked.size();
+            }
+        }
+        return count;
+    }
+
+    public long getReusedCount() {
+        return reused;
+    }
+}
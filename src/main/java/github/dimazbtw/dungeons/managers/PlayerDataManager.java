@@ -2,161 +2,401 @@ package github.dimazbtw.dungeons.managers;
 
 import github.dimazbtw.dungeons.Main;
 import github.dimazbtw.dungeons.models.PlayerData;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
+import github.dimazbtw.dungeons.models.PlayerDataSnapshot;
+import github.dimazbtw.dungeons.storage.BoundedCache;
+import github.dimazbtw.dungeons.storage.FilePlayerDataStore;
+import github.dimazbtw.dungeons.storage.PlayerDataStore;
+import github.dimazbtw.dungeons.storage.RankingIndex;
+import github.dimazbtw.dungeons.storage.SqlPlayerDataStore;
+import github.dimazbtw.dungeons.storage.WriteBehindQueue;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
 
 public class PlayerDataManager {
 
+    private static final int IMPORT_BATCH_SIZE = 500;
+
     private final Main plugin;
+    // Jogadores online: ficam em memória até sair
     private final Map<UUID, PlayerData> playerDataCache;
+    // Jogadores offline acessados recentemente: limitado por tamanho e tempo
+    private final BoundedCache<UUID, PlayerData> offlineCache;
     private final File dataFolder;
+    // Trocado para os arquivos se a importação para o SQLite falhar
+    private volatile PlayerDataStore store;
+    private final WriteBehindQueue<UUID, PlayerDataSnapshot> writeQueue;
+    // Valores de ranking de todos os jogadores, atualizado a cada save
+    private final RankingIndex rankingIndex;
+
+    // Importação de playerdata/ para o SQLite em andamento: leituras vêm dos arquivos,
+    // gravações esperam e logins são recusados até terminar
+    private volatile boolean importing;
+    private FilePlayerDataStore importSource;
+    private final CountDownLatch importDone;
 
     public PlayerDataManager(Main plugin) {
         this.plugin = plugin;
         this.playerDataCache = new ConcurrentHashMap<>();
         this.dataFolder = new File(plugin.getDataFolder(), "playerdata");
+        this.importDone = new CountDownLatch(1);
+        this.store = createStore();
+        this.writeQueue = new WriteBehindQueue<>("playerdata", plugin.getLogger(), batch -> {
+            awaitImport();
+            store.saveBatch(batch.values());
+        });
+
+        int offlineLimit = plugin.getConfig().getInt("storage.offline-cache.max-size", 500);
+        long offlineTtl = plugin.getConfig().getLong("storage.offline-cache.expire-after", 300) * 1000L;
+        this.offlineCache = new BoundedCache<>(offlineLimit, offlineTtl, this::persist);
 
-        if (!dataFolder.exists()) {
-            dataFolder.mkdirs();
+        this.rankingIndex = new RankingIndex(plugin.getDataFolder(), plugin.getLogger());
+        boolean indexLoaded = rankingIndex.load();
+        if (indexLoaded) {
+            plugin.getLogger().info("Loaded ranking index with " + rankingIndex.size() + " players");
         }
+
+        if (importing) {
+            // Sem índice, reconstrói uma única vez a partir do banco já completo
+            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+                importFromFiles();
+                if (!indexLoaded) rebuildRankingIndex();
+            });
+        } else {
+            importDone.countDown();
+            if (!indexLoaded) {
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, this::rebuildRankingIndex);
+            }
+        }
+
+        // Remove jogadores offline expirados a cada minuto
+        Bukkit.getScheduler().runTaskTimer(plugin, offlineCache::evictExpired, 1200L, 1200L);
+
+        plugin.getLogger().info("Player data storage: " + store.getName());
     }
 
-    public PlayerData getData(UUID uuid) {
-        return playerDataCache.computeIfAbsent(uuid, this::loadPlayerData);
+    /**
+     * Cria o backend configurado em database.type
+     */
+    private PlayerDataStore createStore() {
+        FilePlayerDataStore fileStore = new FilePlayerDataStore(dataFolder, plugin.getLogger());
+        String type = plugin.getConfig().getString("database.type", "SQLITE").toUpperCase();
+
+        if (type.equals("FILE")) {
+            return fileStore;
+        }
+        if (!type.equals("SQLITE")) {
+            plugin.getLogger().warning("Database type " + type + " is not supported, using SQLITE");
+        }
+
+        SqlPlayerDataStore sqlStore;
+        try {
+            sqlStore = new SqlPlayerDataStore(new File(plugin.getDataFolder(), "dungeons.db"), plugin.getLogger());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to open SQLite storage, falling back to files: " + e.getMessage());
+            return fileStore;
+        }
+
+        try {
+            if (!sqlStore.isFileImportComplete()) {
+                importing = true;
+                importSource = fileStore;
+            }
+            return sqlStore;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to read SQLite import state, falling back to files: " + e.getMessage());
+            sqlStore.close();
+            return fileStore;
+        }
     }
 
-    public PlayerData getOrCreate(UUID uuid) {
-        return playerDataCache.computeIfAbsent(uuid, id -> {
-            PlayerData data = loadPlayerData(id);
-            return data != null ? data : new PlayerData(id);
-        });
+    private void rebuildRankingIndex() {
+        try {
+            long start = System.currentTimeMillis();
+            int indexed = rankingIndex.rebuild(store);
+            plugin.getLogger().info("Rebuilt ranking index with " + indexed + " players in "
+                    + (System.currentTimeMillis() - start) + "ms");
+            Bukkit.getScheduler().runTask(plugin, () -> plugin.getRankingManager().rebuild());
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to rebuild ranking index: " + e.getMessage());
+        }
     }
 
-    private PlayerData loadPlayerData(UUID uuid) {
-        File file = new File(dataFolder, uuid.toString() + ".yml");
-        if (!file.exists()) {
-            return new PlayerData(uuid);
-        }
-
-        FileConfiguration config = YamlConfiguration.loadConfiguration(file);
-        PlayerData data = new PlayerData(uuid);
-
-        data.setDungeonsCompleted(config.getInt("dungeons-completed", 0));
-        data.setDungeonsFailed(config.getInt("dungeons-failed", 0));
-        data.setMobsKilled(config.getInt("mobs-killed", 0));
-        data.setBossesKilled(config.getInt("bosses-killed", 0));
-        data.setDeaths(config.getInt("deaths", 0));
-        data.setTotalPlayTime(config.getLong("total-playtime", 0));
-        data.setHighestRound(config.getInt("highest-round", 0));
-        data.setPoints(config.getInt("points", 0));
-
-        // Stats/Perks
-        data.setVitality(config.getInt("stats.vitality", 0));
-        data.setStrength(config.getInt("stats.strength", 0));
-        data.setAgility(config.getDouble("stats.agility", 0));
-        data.setPerkPoints(config.getInt("stats.perk-points", 0));
-        data.setLevel(config.getInt("stats.level", 1));
-        data.setExperience(config.getInt("stats.experience", 0));
-
-        // Load enchant levels
-        if (config.isConfigurationSection("enchants")) {
-            for (String key : config.getConfigurationSection("enchants").getKeys(false)) {
-                data.setEnchantLevel(key, config.getInt("enchants." + key, 0));
+    /**
+     * Importa os arquivos de playerdata/ para o SQLite (fora da thread principal).
+     * Os lotes são upserts, então refazer uma importação interrompida é seguro; o
+     * marcador de conclusão só é gravado depois do último lote. Se falhar, esta
+     * execução continua nos arquivos e a importação é refeita no próximo start.
+     */
+    private void importFromFiles() {
+        SqlPlayerDataStore sqlStore = (SqlPlayerDataStore) store;
+        long start = System.currentTimeMillis();
+        plugin.getLogger().info("Importing player files into SQLite, logins are paused until it finishes...");
+
+        List<PlayerDataSnapshot> batch = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int[] imported = {0};
+        IOException[] failure = {null};
+
+        try {
+            importSource.forEach(data -> {
+                if (failure[0] != null) return;
+                batch.add(data.snapshot());
+                if (batch.size() >= IMPORT_BATCH_SIZE) {
+                    try {
+                        sqlStore.saveBatch(batch);
+                        imported[0] += batch.size();
+                    } catch (IOException e) {
+                        failure[0] = e;
+                    }
+                    batch.clear();
+                }
+            });
+
+            if (failure[0] != null) {
+                throw failure[0];
             }
+            sqlStore.saveBatch(batch);
+            imported[0] += batch.size();
+            sqlStore.markFileImportComplete();
+
+            plugin.getLogger().info("Imported " + imported[0] + " player files into SQLite in "
+                    + (System.currentTimeMillis() - start) + "ms");
+        } catch (IOException | RuntimeException e) {
+            plugin.getLogger().severe("Failed to import player files into SQLite, using files until the next start: "
+                    + e.getMessage());
+            store = importSource;
+            sqlStore.close();
+        } finally {
+            importing = false;
+            importSource = null;
+            importDone.countDown();
         }
+    }
 
-        return data;
+    // Gravações esperam a importação: um upsert dos arquivos não pode passar por cima delas
+    private void awaitImport() throws IOException {
+        try {
+            importDone.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the player data import", e);
+        }
     }
 
-    public void savePlayerData(UUID uuid) {
+    /**
+     * Se a importação para o SQLite ainda está rodando (logins devem esperar)
+     */
+    public boolean isImporting() {
+        return importing;
+    }
+
+    /**
+     * Dados de um jogador. Jogadores offline entram no cache limitado.
+     */
+    public PlayerData getData(UUID uuid) {
         PlayerData data = playerDataCache.get(uuid);
-        if (data == null) return;
+        if (data != null) return data;
 
-        File file = new File(dataFolder, uuid.toString() + ".yml");
-        FileConfiguration config = new YamlConfiguration();
+        data = offlineCache.get(uuid);
+        if (data == null) {
+            data = loadPlayerData(uuid);
+            if (!data.isUnreadable()) {
+                data.setRankingListener(this::onRankingChanged);
+            }
+            offlineCache.put(uuid, data);
+        }
+        return data;
+    }
 
-        config.set("dungeons-completed", data.getDungeonsCompleted());
-        config.set("dungeons-failed", data.getDungeonsFailed());
-        config.set("mobs-killed", data.getMobsKilled());
-        config.set("bosses-killed", data.getBossesKilled());
-        config.set("deaths", data.getDeaths());
-        config.set("total-playtime", data.getTotalPlayTime());
-        config.set("highest-round", data.getHighestRound());
-        config.set("points", data.getPoints());
+    public PlayerData getOrCreate(UUID uuid) {
+        return getData(uuid);
+    }
 
-        // Stats/Perks
-        config.set("stats.vitality", data.getVitality());
-        config.set("stats.strength", data.getStrength());
-        config.set("stats.agility", data.getAgility());
-        config.set("stats.perk-points", data.getPerkPoints());
-        config.set("stats.level", data.getLevel());
-        config.set("stats.experience", data.getExperience());
+    /**
+     * Dados já em memória (online ou no cache offline), sem ler o backend; null se não estiverem.
+     * Mais recentes que um {@link #fetch} feito antes.
+     */
+    public PlayerData getCached(UUID uuid) {
+        PlayerData data = playerDataCache.get(uuid);
+        return data != null ? data : offlineCache.get(uuid);
+    }
 
-        // Save enchant levels
-        for (Map.Entry<String, Integer> entry : data.getWeaponEnchants().entrySet()) {
-            config.set("enchants." + entry.getKey(), entry.getValue());
+    private PlayerData loadPlayerData(UUID uuid) {
+        // Uma escrita ainda pendente é mais recente que o que está salvo
+        PlayerDataSnapshot pending = writeQueue.getPending(uuid);
+        if (pending != null) {
+            return pending.toPlayerData();
         }
 
         try {
-            config.save(file);
+            // Durante a importação os arquivos ainda são a fonte completa
+            FilePlayerDataStore source = importSource;
+            PlayerData data = importing && source != null ? source.load(uuid) : store.load(uuid);
+            return data != null ? data : new PlayerData(uuid);
         } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save player data for " + uuid);
-            e.printStackTrace();
+            // Registro existe mas não pôde ser lido: dados provisórios que nunca são salvos
+            plugin.getLogger().severe("Failed to load player data for " + uuid + ": " + e.getMessage()
+                    + ". Changes made this session will not be saved.");
+            PlayerData data = new PlayerData(uuid);
+            data.markUnreadable();
+            return data;
         }
     }
 
+    /**
+     * Agenda a gravação dos dados do jogador.
+     * O snapshot é tirado na thread atual; a escrita acontece na thread de I/O.
+     */
+    public void savePlayerData(UUID uuid) {
+        PlayerData data = playerDataCache.get(uuid);
+        if (data != null) {
+            persist(data);
+        }
+    }
+
+    private void persist(PlayerData data) {
+        if (!data.isDirty() || data.isUnreadable()) return;
+
+        PlayerDataSnapshot snapshot = data.snapshot();
+        data.clearDirty();
+        writeQueue.submit(data.getUuid(), snapshot);
+
+        Player player = Bukkit.getPlayer(data.getUuid());
+        rankingIndex.update(snapshot, player != null ? player.getName() : null);
+    }
+
     public void saveAll() {
-        for (UUID uuid : playerDataCache.keySet()) {
-            savePlayerData(uuid);
+        for (PlayerData data : playerDataCache.values()) {
+            persist(data);
+        }
+        for (PlayerData data : offlineCache.values()) {
+            persist(data);
         }
     }
 
+    /**
+     * Enfileira os dados sujos, espera (com limite) a fila esvaziar e fecha o backend
+     */
+    public void shutdown() {
+        if (importing) {
+            plugin.getLogger().warning("Player data import was interrupted by shutdown, it will restart on the next start");
+        }
+        saveAll();
+        long timeout = plugin.getConfig().getLong("storage.shutdown-timeout", 10) * 1000L;
+        writeQueue.shutdown(timeout);
+        rankingIndex.close(timeout);
+        store.close();
+    }
+
+    /**
+     * Salva e despina o jogador; ele continua no cache offline até expirar
+     */
     public void unloadPlayer(UUID uuid) {
-        savePlayerData(uuid);
-        playerDataCache.remove(uuid);
+        plugin.getWeaponManager().removeProfile(uuid);
+        PlayerData data = playerDataCache.remove(uuid);
+        if (data != null) {
+            persist(data);
+            offlineCache.put(uuid, data);
+        }
     }
 
     public void loadPlayer(UUID uuid) {
-        playerDataCache.put(uuid, loadPlayerData(uuid));
+        loadPlayer(uuid, null);
     }
 
     /**
-     * Retorna todos os dados de jogadores (carrega do disco se necessário)
-     * Usado para rankings
+     * Fixa o jogador em memória usando os dados pré-carregados no pre-login (se houver)
      */
-    public Map<UUID, PlayerData> getAllData() {
-        // Carregar todos os arquivos do disco que não estão no cache
-        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files != null) {
-            for (File file : files) {
-                String name = file.getName().replace(".yml", "");
-                try {
-                    UUID uuid = UUID.fromString(name);
-                    if (!playerDataCache.containsKey(uuid)) {
-                        PlayerData data = loadPlayerData(uuid);
-                        if (data != null) {
-                            playerDataCache.put(uuid, data);
-                        }
-                    }
-                } catch (IllegalArgumentException ignored) {
-                    // Nome de arquivo inválido
-                }
-            }
+    public void loadPlayer(UUID uuid, PlayerData prefetched) {
+        // O cache offline é sempre mais recente que uma leitura do disco
+        PlayerData data = offlineCache.remove(uuid);
+        if (data != null && data.isUnreadable()) {
+            // Tenta ler o registro de novo (ex.: falha transitória do banco)
+            data = null;
+        }
+        if (data == null) {
+            data = prefetched != null ? prefetched : loadPlayerData(uuid);
+        }
+        playerDataCache.put(uuid, data);
+        if (!data.isUnreadable()) {
+            data.setRankingListener(this::onRankingChanged);
+            onRankingChanged(data);
         }
-        return new ConcurrentHashMap<>(playerDataCache);
+        plugin.getWeaponManager().compileProfile(uuid);
+
+        Player player = Bukkit.getPlayer(uuid);
+        if (player != null) {
+            rankingIndex.updateName(uuid, player.getName());
+        }
+    }
+
+    private void onRankingChanged(PlayerData data) {
+        RankingManager rankingManager = plugin.getRankingManager();
+        if (rankingManager != null) {
+            rankingManager.update(data);
+        }
+    }
+
+    /**
+     * Jogadores em memória (online e cache offline)
+     */
+    public List<PlayerData> getLoadedData() {
+        List<PlayerData> loaded = new ArrayList<>(playerDataCache.values());
+        loaded.addAll(offlineCache.values());
+        return loaded;
+    }
+
+    /**
+     * Lê os dados sem colocar em cache. Seguro fora da thread principal.
+     */
+    public PlayerData fetch(UUID uuid) {
+        return loadPlayerData(uuid);
     }
 
     /**
      * Retorna o número total de jogadores com dados salvos
      */
     public int getTotalPlayers() {
-        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        return files != null ? files.length : 0;
+        try {
+            return store.count();
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to count players: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * Converte os arquivos YAML para o formato binário (apenas no backend FILE).
+     * Deve ser chamado fora da thread principal. Retorna null em outros backends.
+     */
+    public FilePlayerDataStore.MigrationResult migrateYamlFiles() {
+        if (!(store instanceof FilePlayerDataStore fileStore)) {
+            return null;
+        }
+
+        int threads = plugin.getConfig().getInt("storage.migration-threads", 0);
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+
+        // Jogadores em memória ou com escrita pendente serão gravados em binário pelo próprio save
+        return fileStore.migrateYamlFiles(threads,
+                uuid -> playerDataCache.containsKey(uuid) || writeQueue.getPending(uuid) != null);
+    }
+
+    public RankingIndex getRankingIndex() {
+        return rankingIndex;
+    }
+
+    public PlayerDataStore getStore() {
+        return store;
     }
 }
@@ -0,0 +1,120 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.DungeonEquipment;
+import github.dimazbtw.dungeons.models.PlayerData;
+import org.bukkit.Bukkit;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Carrega PlayerData e equipamento durante o AsyncPlayerPreLoginEvent.
+ * Os dados ficam em uma área de staging até o PlayerJoinEvent, quando são
+ * promovidos para os caches; se não ficarem prontos a tempo, o join carrega
+ * normalmente.
+ */
+public class PrefetchManager {
+
+    // Entradas de logins que nunca chegaram ao join
+    private static final long STAGING_EXPIRE_MILLIS = 60_000L;
+
+    private final Main plugin;
+    private final Map<UUID, PrefetchedPlayer> staging;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public PrefetchManager(Main plugin) {
+        this.plugin = plugin;
+        this.staging = new ConcurrentHashMap<>();
+        this.timeoutMillis = plugin.getConfig().getLong("storage.prefetch-timeout", 2000);
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "Dungeons-Prefetch-" + threadId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Bukkit.getScheduler().runTaskTimer(plugin, this::purgeExpired, 600L, 600L);
+    }
+
+    /**
+     * Chamado na thread do pre-login: dispara as leituras e espera no máximo o timeout
+     */
+    public void prefetch(UUID playerId) {
+        PrefetchedPlayer entry = new PrefetchedPlayer(
+                CompletableFuture.supplyAsync(() -> plugin.getPlayerDataManager().fetch(playerId), executor),
+                CompletableFuture.supplyAsync(() -> plugin.getEquipmentManager().fetch(playerId), executor));
+        staging.put(playerId, entry);
+
+        try {
+            CompletableFuture.allOf(entry.data, entry.equipment).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            plugin.getLogger().warning("Prefetch of " + playerId + " took longer than " + timeoutMillis + "ms");
+        } catch (ExecutionException e) {
+            plugin.getLogger().warning("Prefetch of " + playerId + " failed: " + e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Chamado no join: move o que ficou pronto para os caches.
+     * O que não ficou pronto (ou falhou) é carregado de forma síncrona.
+     */
+    public void promote(UUID playerId) {
+        PrefetchedPlayer entry = staging.remove(playerId);
+
+        PlayerData data = entry != null ? getIfReady(entry.data) : null;
+        DungeonEquipment equipment = entry != null ? getIfReady(entry.equipment) : null;
+
+        plugin.getPlayerDataManager().loadPlayer(playerId, data);
+        plugin.getEquipmentManager().loadPlayer(playerId, equipment);
+    }
+
+    /**
+     * Login negado: descarta o que foi carregado
+     */
+    public void discard(UUID playerId) {
+        staging.remove(playerId);
+    }
+
+    private void purgeExpired() {
+        long now = System.currentTimeMillis();
+        staging.values().removeIf(entry -> now - entry.createdAt > STAGING_EXPIRE_MILLIS);
+    }
+
+    public void shutdown() {
+        staging.clear();
+        executor.shutdownNow();
+    }
+
+    private static <T> T getIfReady(CompletableFuture<T> future) {
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            future.cancel(false);
+            return null;
+        }
+        return future.join();
+    }
+
+    private static class PrefetchedPlayer {
+        private final CompletableFuture<PlayerData> data;
+        private final CompletableFuture<DungeonEquipment> equipment;
+        private final long createdAt;
+
+        private PrefetchedPlayer(CompletableFuture<PlayerData> data, CompletableFuture<DungeonEquipment> equipment) {
+            this.data = data;
+            this.equipment = equipment;
+            this.createdAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.Dungeon;
+import github.dimazbtw.dungeons.models.DungeonSession;
+import github.dimazbtw.lib.utils.basics.ColorUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fila de matchmaking por dungeon. Os jogadores se acumulam até formar uma
+ * party de maxPlayers (ou minPlayers depois de matchmaking.wait-time) e cada
+ * party é entregue de uma vez a uma arena livre.
+ */
+public class QueueManager {
+
+    // Peso da espera mais recente na média usada para estimar a espera
+    private static final double WAIT_SMOOTHING = 0.3;
+
+    private final Main plugin;
+    private final Map<String, DungeonQueue> queues;
+    private final Map<UUID, String> playerQueues;
+
+    private BukkitTask task;
+    private boolean enabled;
+    private long waitMillis;
+
+    public QueueManager(Main plugin) {
+        this.plugin = plugin;
+        this.queues = new ConcurrentHashMap<>();
+        this.playerQueues = new ConcurrentHashMap<>();
+        start();
+    }
+
+    private void start() {
+        this.enabled = plugin.getConfig().getBoolean("matchmaking.enabled", false);
+        this.waitMillis = Math.max(0, plugin.getConfig().getLong("matchmaking.wait-time", 30)) * 1000L;
+
+        if (enabled) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 20L, 20L);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Coloca o jogador na fila da dungeon (sai da fila anterior, se houver)
+     */
+    public boolean enqueue(Player player, Dungeon dungeon) {
+        UUID uuid = player.getUniqueId();
+        String current = playerQueues.get(uuid);
+
+        if (dungeon.getId().equals(current)) {
+            plugin.getMessageManager().sendMessage(player, "queue-already");
+            return false;
+        }
+        if (current != null) {
+            dequeue(uuid);
+        }
+
+        DungeonQueue queue = queues.computeIfAbsent(dungeon.getId(), DungeonQueue::new);
+        int position = queue.add(uuid, System.currentTimeMillis());
+        playerQueues.put(uuid, dungeon.getId());
+
+        Map<String, String> placeholders = new HashMap<>();
+        placeholders.put("dungeon", dungeon.getDisplayName());
+        placeholders.put("position", String.valueOf(position));
+        placeholders.put("max", String.valueOf(dungeon.getMaxPlayers()));
+        plugin.getMessageManager().sendMessage(player, "queue-joined", placeholders);
+
+        // Party completa (ou com vaga aguardando) não precisa esperar o próximo ciclo
+        if (queue.size() >= dungeon.getMaxPlayers()
+                || plugin.getSessionManager().getJoinableSession(dungeon.getId()) != null) {
+            dispatch(dungeon, queue, System.currentTimeMillis());
+        }
+        return true;
+    }
+
+    public boolean leaveQueue(Player player) {
+        if (!dequeue(player.getUniqueId())) return false;
+
+        plugin.getMessageManager().sendMessage(player, "queue-left");
+        return true;
+    }
+
+    /**
+     * Remove o jogador da fila sem mensagem (quit)
+     */
+    public boolean dequeue(UUID uuid) {
+        String dungeonId = playerQueues.remove(uuid);
+        if (dungeonId == null) return false;
+
+        DungeonQueue queue = queues.get(dungeonId);
+        if (queue != null) {
+            queue.remove(uuid);
+        }
+        return true;
+    }
+
+    public boolean isQueued(UUID uuid) {
+        return playerQueues.containsKey(uuid);
+    }
+
+    private void tick() {
+        long now = System.currentTimeMillis();
+
+        for (DungeonQueue queue : queues.values()) {
+            if (queue.size() == 0) continue;
+
+            Dungeon dungeon = plugin.getDungeonManager().getDungeon(queue.dungeonId);
+            if (dungeon == null) {
+                // Dungeon removida em um reload
+                for (UUID uuid : queue.drain()) {
+                    playerQueues.remove(uuid);
+                    Player player = Bukkit.getPlayer(uuid);
+                    if (player != null) plugin.getMessageManager().sendMessage(player, "queue-left");
+                }
+                continue;
+            }
+
+            dispatch(dungeon, queue, now);
+        }
+    }
+
+    /**
+     * Horário da dungeon fechou: esvazia a fila avisando cada jogador
+     */
+    private void closeQueue(Dungeon dungeon, DungeonQueue queue) {
+        String closed = ColorUtils.colorize(dungeon.getClosedMessage());
+        for (UUID uuid : queue.drain()) {
+            playerQueues.remove(uuid);
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) player.sendMessage(closed);
+        }
+    }
+
+    private void dispatch(Dungeon dungeon, DungeonQueue queue, long now) {
+        // Quem entrou na fila com a dungeon aberta não entra depois que ela fecha
+        if (!dungeon.isOpen()) {
+            closeQueue(dungeon, queue);
+            return;
+        }
+
+        SessionManager sessionManager = plugin.getSessionManager();
+
+        // Vagas de uma party já formada que ainda não começou
+        DungeonSession joinable = sessionManager.getJoinableSession(dungeon.getId());
+        if (joinable != null) {
+            handOff(queue, joinable, dungeon.getMaxPlayers() - joinable.getPlayerCount(), now);
+        }
+
+        while (isReady(dungeon, queue, now)) {
+            DungeonSession session = sessionManager.createSession(dungeon);
+            if (session == null) break; // Todas as arenas ocupadas, a fila continua esperando
+
+            handOff(queue, session, dungeon.getMaxPlayers(), now);
+        }
+    }
+
+    private boolean isReady(Dungeon dungeon, DungeonQueue queue, long now) {
+        int size = queue.size();
+        if (size == 0) return false;
+        if (size >= dungeon.getMaxPlayers()) return true;
+        return size >= dungeon.getMinPlayers() && now - queue.getOldestJoin() >= waitMillis;
+    }
+
+    private void handOff(DungeonQueue queue, DungeonSession session, int slots, long now) {
+        List<Player> party = new ArrayList<>(slots);
+
+        while (party.size() < slots) {
+            Map.Entry<UUID, Long> entry = queue.poll();
+            if (entry == null) break;
+
+            playerQueues.remove(entry.getKey());
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (player == null) continue;
+
+            queue.recordWait(now - entry.getValue());
+            party.add(player);
+        }
+
+        plugin.getSessionManager().joinParty(party, session);
+    }
+
+    // ==================== CONSULTAS ====================
+
+    public int getQueueSize(String dungeonId) {
+        DungeonQueue queue = queues.get(dungeonId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    public String getPlayerQueue(UUID uuid) {
+        return playerQueues.get(uuid);
+    }
+
+    /**
+     * Posição do jogador na fila (1 = primeiro) ou 0 se ele não está em nenhuma
+     */
+    public int getPosition(UUID uuid) {
+        String dungeonId = playerQueues.get(uuid);
+        DungeonQueue queue = dungeonId != null ? queues.get(dungeonId) : null;
+        return queue != null ? queue.indexOf(uuid) + 1 : 0;
+    }
+
+    /**
+     * Espera estimada em segundos até a próxima party da dungeon sair
+     */
+    public long getEstimatedWait(String dungeonId) {
+        Dungeon dungeon = plugin.getDungeonManager().getDungeon(dungeonId);
+        if (dungeon == null) return 0;
+
+        DungeonQueue queue = queues.get(dungeonId);
+        long average = queue != null ? queue.getAverageWait() : -1;
+        long expected = average >= 0 ? average : waitMillis;
+
+        if (queue == null || queue.size() == 0) {
+            return expected / 1000L;
+        }
+
+        int size = queue.size();
+        if (size >= dungeon.getMaxPlayers()) return 0;
+
+        long waited = System.currentTimeMillis() - queue.getOldestJoin();
+        if (size >= dungeon.getMinPlayers()) {
+            return Math.max(0, waitMillis - waited) / 1000L;
+        }
+        return Math.max(0, expected - waited) / 1000L;
+    }
+
+    public static String formatWait(long seconds) {
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    public void reload() {
+        stop();
+        start();
+
+        if (!enabled) {
+            for (UUID uuid : new ArrayList<>(playerQueues.keySet())) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    leaveQueue(player);
+                } else {
+                    dequeue(uuid);
+                }
+            }
+        }
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Fila de uma dungeon em ordem de chegada (jogador -> momento em que entrou)
+     */
+    private static class DungeonQueue {
+        private final String dungeonId;
+        private final LinkedHashMap<UUID, Long> entries;
+        private long averageWait;
+
+        DungeonQueue(String dungeonId) {
+            this.dungeonId = dungeonId;
+            this.entries = new LinkedHashMap<>();
+            this.averageWait = -1;
+        }
+
+        synchronized int add(UUID uuid, long joinedAt) {
+            entries.put(uuid, joinedAt);
+            return entries.size();
+        }
+
+        synchronized void remove(UUID uuid) {
+            entries.remove(uuid);
+        }
+
+        synchronized Map.Entry<UUID, Long> poll() {
+            Iterator<Map.Entry<UUID, Long>> iterator = entries.entrySet().iterator();
+            if (!iterator.hasNext()) return null;
+
+            Map.Entry<UUID, Long> first = iterator.next();
+            Map.Entry<UUID, Long> polled = new AbstractMap.SimpleImmutableEntry<>(first);
+            iterator.remove();
+            return polled;
+        }
+
+        synchronized List<UUID> drain() {
+            List<UUID> drained = new ArrayList<>(entries.keySet());
+            entries.clear();
+            return drained;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        synchronized int indexOf(UUID uuid) {
+            int index = 0;
+            for (UUID queued : entries.keySet()) {
+                if (queued.equals(uuid)) return index;
+                index++;
+            }
+            return -1;
+        }
+
+        synchronized long getOldestJoin() {
+            return entries.isEmpty() ? System.currentTimeMillis() : entries.values().iterator().next();
+        }
+
+        synchronized void recordWait(long wait) {
+            averageWait = averageWait < 0 ? wait : (long) (averageWait + WAIT_SMOOTHING * (wait - averageWait));
+        }
+
+        synchronized long getAverageWait() {
+            return averageWait;
+        }
+    }
+}
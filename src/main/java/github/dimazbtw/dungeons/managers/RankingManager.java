@@ -2,163 +2,197 @@ package github.dimazbtw.dungeons.managers;
 
 import github.dimazbtw.dungeons.Main;
 import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.models.RankingSnapshot;
+import github.dimazbtw.dungeons.storage.Leaderboard;
+import github.dimazbtw.dungeons.storage.RankingIndex;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
- * Gerencia rankings de jogadores por diferentes critérios
+ * Gerencia rankings de jogadores por diferentes critérios.
+ * Cada critério é um {@link Leaderboard} atualizado a cada alteração de stats,
+ * então posições exatas e páginas não precisam de reordenação periódica.
+ * Os tops exibidos nos menus vêm de um {@link RankingSnapshot} montado por uma
+ * tarefa assíncrona; os leitores nunca esperam pela montagem.
  */
 public class RankingManager {
 
+    // Entradas de cada critério guardadas no snapshot
+    private static final int SNAPSHOT_SIZE = 100;
+
     private final Main plugin;
-    
-    // Cache de rankings (atualizado periodicamente)
-    private List<RankingEntry> mobsKilledRanking;
-    private List<RankingEntry> bossesKilledRanking;
-    private List<RankingEntry> dungeonsCompletedRanking;
-    private List<RankingEntry> pointsRanking;
-    private List<RankingEntry> levelRanking;
-    
-    private long lastUpdate = 0;
-    private static final long CACHE_DURATION = 60000; // 1 minuto
+    private volatile Map<RankingType, Leaderboard> leaderboards;
+    private volatile RankingSnapshot snapshot;
+    // Algum ranking mudou desde o último snapshot
+    private volatile boolean changed;
 
     public RankingManager(Main plugin) {
         this.plugin = plugin;
-        this.mobsKilledRanking = new ArrayList<>();
-        this.bossesKilledRanking = new ArrayList<>();
-        this.dungeonsCompletedRanking = new ArrayList<>();
-        this.pointsRanking = new ArrayList<>();
-        this.levelRanking = new ArrayList<>();
+        this.leaderboards = createLeaderboards();
+        this.snapshot = RankingSnapshot.empty();
+        rebuild();
+
+        long interval = Math.max(1, plugin.getConfig().getLong("ranking.refresh-interval", 10)) * 20L;
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this::refresh, interval, interval);
     }
 
-    /**
-     * Atualiza todos os rankings
-     */
-    public void updateRankings() {
-        if (System.currentTimeMillis() - lastUpdate < CACHE_DURATION) {
-            return; // Cache ainda válido
+    private static Map<RankingType, Leaderboard> createLeaderboards() {
+        Map<RankingType, Leaderboard> leaderboards = new EnumMap<>(RankingType.class);
+        for (RankingType type : RankingType.values()) {
+            leaderboards.put(type, new Leaderboard());
         }
+        return leaderboards;
+    }
 
-        Map<UUID, PlayerData> allData = plugin.getPlayerDataManager().getAllData();
-        
-        List<RankingEntry> entries = new ArrayList<>();
-        for (Map.Entry<UUID, PlayerData> entry : allData.entrySet()) {
-            UUID uuid = entry.getKey();
-            PlayerData data = entry.getValue();
-            String playerName = getPlayerName(uuid);
-            entries.add(new RankingEntry(uuid, playerName, data));
-        }
+    /**
+     * Recarrega todos os rankings a partir do índice persistente.
+     * A carga é feita fora da thread principal; a troca acontece na thread principal.
+     */
+    public void rebuild() {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Map<RankingType, Leaderboard> loaded = load();
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                leaderboards = loaded;
+
+                // Dados em memória podem ser mais recentes que o índice
+                for (PlayerData data : plugin.getPlayerDataManager().getLoadedData()) {
+                    update(data);
+                }
+                changed = true;
+                Bukkit.getScheduler().runTaskAsynchronously(plugin, this::refresh);
+            });
+        });
+    }
 
-        // Mobs Killed
-        mobsKilledRanking = entries.stream()
-                .sorted((a, b) -> Integer.compare(b.getData().getMobsKilled(), a.getData().getMobsKilled()))
-                .limit(100)
-                .collect(Collectors.toList());
+    private Map<RankingType, Leaderboard> load() {
+        Collection<RankingIndex.Entry> entries = new ArrayList<>(plugin.getPlayerDataManager().getRankingIndex().values());
+        Map<RankingType, Leaderboard> loaded = createLeaderboards();
 
-        // Bosses Killed
-        bossesKilledRanking = entries.stream()
-                .sorted((a, b) -> Integer.compare(b.getData().getBossesKilled(), a.getData().getBossesKilled()))
-                .limit(100)
-                .collect(Collectors.toList());
+        UUID[] players = new UUID[entries.size()];
+        int index = 0;
+        for (RankingIndex.Entry entry : entries) {
+            players[index++] = entry.getUuid();
+        }
 
-        // Dungeons Completed
-        dungeonsCompletedRanking = entries.stream()
-                .sorted((a, b) -> Integer.compare(b.getData().getDungeonsCompleted(), a.getData().getDungeonsCompleted()))
-                .limit(100)
-                .collect(Collectors.toList());
+        for (RankingType type : RankingType.values()) {
+            int[] scores = new int[players.length];
+            index = 0;
+            for (RankingIndex.Entry entry : entries) {
+                scores[index++] = entry.getValue(type);
+            }
+            loaded.get(type).load(players, scores);
+        }
+        return loaded;
+    }
 
-        // Points
-        pointsRanking = entries.stream()
-                .sorted((a, b) -> Integer.compare(b.getData().getPoints(), a.getData().getPoints()))
-                .limit(100)
-                .collect(Collectors.toList());
+    /**
+     * Monta um novo snapshot se algum ranking mudou. Executado fora da thread principal.
+     */
+    private synchronized void refresh() {
+        if (!changed) return;
+        changed = false;
 
-        // Level
-        levelRanking = entries.stream()
-                .sorted((a, b) -> Integer.compare(b.getData().getLevel(), a.getData().getLevel()))
-                .limit(100)
-                .collect(Collectors.toList());
+        Map<RankingType, List<RankingEntry>> top = new EnumMap<>(RankingType.class);
+        for (RankingType type : RankingType.values()) {
+            top.put(type, getRanking(type, 0, SNAPSHOT_SIZE));
+        }
+        snapshot = new RankingSnapshot(top, System.currentTimeMillis());
+    }
 
-        lastUpdate = System.currentTimeMillis();
+    /**
+     * Chamado quando um valor de ranking do jogador muda. O(log n) por critério.
+     */
+    public void update(PlayerData data) {
+        for (Map.Entry<RankingType, Leaderboard> entry : leaderboards.entrySet()) {
+            entry.getValue().update(data.getUuid(), entry.getKey().getValue(data));
+        }
+        changed = true;
     }
 
     private String getPlayerName(UUID uuid) {
+        Player online = Bukkit.getPlayer(uuid);
+        if (online != null) return online.getName();
+
+        RankingIndex.Entry indexed = plugin.getPlayerDataManager().getRankingIndex().get(uuid);
+        if (indexed != null && indexed.getName() != null) return indexed.getName();
+
         OfflinePlayer player = Bukkit.getOfflinePlayer(uuid);
         return player.getName() != null ? player.getName() : "Unknown";
     }
 
+    private RankingEntry createEntry(UUID uuid) {
+        int[] values = new int[RankingType.values().length];
+        for (Map.Entry<RankingType, Leaderboard> entry : leaderboards.entrySet()) {
+            values[entry.getKey().ordinal()] = entry.getValue().getScore(uuid);
+        }
+        return new RankingEntry(uuid, getPlayerName(uuid), values);
+    }
+
     // ==================== GETTERS ====================
 
+    /**
+     * Último snapshot completo (nunca bloqueia)
+     */
+    public RankingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Página do ranking a partir da posição {@code offset} (0 = primeiro), consultada na hora
+     */
+    public List<RankingEntry> getRanking(RankingType type, int offset, int limit) {
+        List<UUID> page = leaderboards.get(type).getPage(offset, limit);
+        List<RankingEntry> entries = new ArrayList<>(page.size());
+        for (UUID uuid : page) {
+            entries.add(createEntry(uuid));
+        }
+        return entries;
+    }
+
     public List<RankingEntry> getMobsKilledRanking(int limit) {
-        updateRankings();
-        return mobsKilledRanking.stream().limit(limit).collect(Collectors.toList());
+        return snapshot.getTop(RankingType.MOBS_KILLED, limit);
     }
 
     public List<RankingEntry> getBossesKilledRanking(int limit) {
-        updateRankings();
-        return bossesKilledRanking.stream().limit(limit).collect(Collectors.toList());
+        return snapshot.getTop(RankingType.BOSSES_KILLED, limit);
     }
 
     public List<RankingEntry> getDungeonsCompletedRanking(int limit) {
-        updateRankings();
-        return dungeonsCompletedRanking.stream().limit(limit).collect(Collectors.toList());
+        return snapshot.getTop(RankingType.DUNGEONS_COMPLETED, limit);
     }
 
     public List<RankingEntry> getPointsRanking(int limit) {
-        updateRankings();
-        return pointsRanking.stream().limit(limit).collect(Collectors.toList());
+        return snapshot.getTop(RankingType.POINTS, limit);
     }
 
     public List<RankingEntry> getLevelRanking(int limit) {
-        updateRankings();
-        return levelRanking.stream().limit(limit).collect(Collectors.toList());
+        return snapshot.getTop(RankingType.LEVEL, limit);
     }
 
     // ==================== POSIÇÕES ====================
 
+    /**
+     * Posição exata do jogador (1 = primeiro) ou -1 se ele não tem dados
+     */
     public int getPlayerPosition(UUID uuid, RankingType type) {
-        updateRankings();
-        List<RankingEntry> ranking = switch (type) {
-            case MOBS_KILLED -> mobsKilledRanking;
-            case BOSSES_KILLED -> bossesKilledRanking;
-            case DUNGEONS_COMPLETED -> dungeonsCompletedRanking;
-            case POINTS -> pointsRanking;
-            case LEVEL -> levelRanking;
-        };
-
-        for (int i = 0; i < ranking.size(); i++) {
-            if (ranking.get(i).getUuid().equals(uuid)) {
-                return i + 1;
-            }
-        }
-        return -1; // Não encontrado
+        return leaderboards.get(type).getRank(uuid);
     }
 
     public RankingEntry getPlayerEntry(UUID uuid, RankingType type) {
-        updateRankings();
-        List<RankingEntry> ranking = switch (type) {
-            case MOBS_KILLED -> mobsKilledRanking;
-            case BOSSES_KILLED -> bossesKilledRanking;
-            case DUNGEONS_COMPLETED -> dungeonsCompletedRanking;
-            case POINTS -> pointsRanking;
-            case LEVEL -> levelRanking;
-        };
-
-        return ranking.stream()
-                .filter(e -> e.getUuid().equals(uuid))
-                .findFirst()
-                .orElse(null);
+        if (!leaderboards.get(type).contains(uuid)) {
+            return null;
+        }
+        return createEntry(uuid);
     }
 
     /**
-     * Força atualização imediata do cache
+     * Total de jogadores no ranking
      */
-    public void forceUpdate() {
-        lastUpdate = 0;
-        updateRankings();
+    public int getRankedPlayers(RankingType type) {
+        return leaderboards.get(type).size();
     }
 
     // ==================== CLASSES INTERNAS ====================
@@ -168,32 +202,35 @@ public class RankingManager {
         BOSSES_KILLED,
         DUNGEONS_COMPLETED,
         POINTS,
-        LEVEL
+        LEVEL;
+
+        public int getValue(PlayerData data) {
+            return switch (this) {
+                case MOBS_KILLED -> data.getMobsKilled();
+                case BOSSES_KILLED -> data.getBossesKilled();
+                case DUNGEONS_COMPLETED -> data.getDungeonsCompleted();
+                case POINTS -> data.getPoints();
+                case LEVEL -> data.getLevel();
+            };
+        }
     }
 
     public static class RankingEntry {
         private final UUID uuid;
         private final String playerName;
-        private final PlayerData data;
+        private final int[] values;
 
-        public RankingEntry(UUID uuid, String playerName, PlayerData data) {
+        public RankingEntry(UUID uuid, String playerName, int[] values) {
             this.uuid = uuid;
             this.playerName = playerName;
-            this.data = data;
+            this.values = values;
         }
 
         public UUID getUuid() { return uuid; }
         public String getPlayerName() { return playerName; }
-        public PlayerData getData() { return data; }
 
         public int getValue(RankingType type) {
-            return switch (type) {
-                case MOBS_KILLED -> data.getMobsKilled();
-                case BOSSES_KILLED -> data.getBossesKilled();
-                case DUNGEONS_COMPLETED -> data.getDungeonsCompleted();
-                case POINTS -> data.getPoints();
-                case LEVEL -> data.getLevel();
-            };
+            return values[type.ordinal()];
         }
     }
 }
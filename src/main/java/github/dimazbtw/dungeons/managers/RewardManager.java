@@ -4,6 +4,8 @@ import github.dimazbtw.dungeons.Main;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import github.dimazbtw.dungeons.models.PendingReward;
 import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.storage.PendingRewardCodec;
+import github.dimazbtw.dungeons.storage.RewardJournal;
 import github.dimazbtw.lib.utils.basics.ColorUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
@@ -18,19 +20,36 @@ import org.bukkit.inventory.meta.ItemMeta;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class RewardManager {
 
     private final Main plugin;
+    // Apenas jogadores com o shard carregado (ou carregando) ficam em memória
     private final Map<UUID, List<PendingReward>> pendingRewards;
+    private final Map<UUID, CompletableFuture<Void>> loadingRewards;
     private final File rewardsFile;
+    private final RewardJournal journal;
 
     public RewardManager(Main plugin) {
         this.plugin = plugin;
         this.pendingRewards = new ConcurrentHashMap<>();
+        this.loadingRewards = new ConcurrentHashMap<>();
         this.rewardsFile = new File(plugin.getDataFolder(), "pending_rewards.yml");
-        loadPendingRewards();
+        this.journal = new RewardJournal(new File(plugin.getDataFolder(), "rewards"), plugin.getLogger());
+        if (rewardsFile.exists()) {
+            migrateLegacyRewards();
+        }
+
+        // Jogadores já online (ex: /reload)
+        for (Player online : Bukkit.getOnlinePlayers()) {
+            loadPlayer(online.getUniqueId());
+        }
+
+        // Compactação periódica dos shards alterados (a escrita acontece na thread de I/O do journal)
+        long interval = plugin.getConfig().getLong("storage.reward-compaction-interval", 5) * 60 * 20L;
+        Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, () -> journal.compactAsync(), interval, interval);
     }
 
     /**
@@ -208,13 +227,92 @@ public class RewardManager {
      * Adiciona recompensas pendentes
      */
     public void addPendingRewards(UUID playerId, List<PendingReward> rewards) {
-        pendingRewards.computeIfAbsent(playerId, k -> new ArrayList<>()).addAll(rewards);
-        savePendingRewards();
+        for (PendingReward reward : rewards) {
+            addPendingReward(playerId, reward);
+        }
     }
 
     public void addPendingReward(UUID playerId, PendingReward reward) {
-        pendingRewards.computeIfAbsent(playerId, k -> new ArrayList<>()).add(reward);
-        savePendingRewards();
+        // Jogador sem shard em memória: basta registrar no journal
+        List<PendingReward> rewards = pendingRewards.get(playerId);
+        if (rewards != null) {
+            rewards.add(reward);
+        }
+        journalAdd(playerId, reward);
+    }
+
+    /**
+     * Carrega o shard de recompensas do jogador de forma assíncrona.
+     * O future completa na thread principal.
+     */
+    public CompletableFuture<Void> loadPlayer(UUID playerId) {
+        CompletableFuture<Void> existing = loadingRewards.get(playerId);
+        if (existing != null) return existing;
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        loadingRewards.put(playerId, future);
+        pendingRewards.putIfAbsent(playerId, new ArrayList<>());
+
+        journal.load(playerId)
+                .thenApply(this::decodeRewards)
+                .whenComplete((loaded, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+                    // Jogador saiu antes do carregamento terminar
+                    if (loadingRewards.get(playerId) != future) return;
+
+                    if (error != null) {
+                        plugin.getLogger().warning("Failed to load pending rewards for " + playerId + ": " + error.getMessage());
+                    } else {
+                        mergeLoaded(playerId, loaded);
+                    }
+                    future.complete(null);
+                }));
+
+        return future;
+    }
+
+    /**
+     * Junta o que veio do disco com o que foi adicionado enquanto carregava
+     */
+    private void mergeLoaded(UUID playerId, List<PendingReward> loaded) {
+        List<PendingReward> current = pendingRewards.getOrDefault(playerId, Collections.emptyList());
+        Set<String> loadedIds = new HashSet<>();
+        for (PendingReward reward : loaded) {
+            loadedIds.add(reward.getId());
+        }
+
+        List<PendingReward> merged = new ArrayList<>(loaded);
+        for (PendingReward reward : current) {
+            if (!loadedIds.contains(reward.getId())) {
+                merged.add(reward);
+            }
+        }
+        pendingRewards.put(playerId, merged);
+    }
+
+    private List<PendingReward> decodeRewards(List<byte[]> data) {
+        List<PendingReward> rewards = new ArrayList<>(data.size());
+        for (byte[] entry : data) {
+            try {
+                rewards.add(PendingRewardCodec.decode(entry));
+            } catch (Exception e) {
+                plugin.getLogger().warning("Failed to decode pending reward: " + e.getMessage());
+            }
+        }
+        return rewards;
+    }
+
+    /**
+     * Remove o shard da memória e agenda sua compactação
+     */
+    public void unloadPlayer(UUID playerId) {
+        loadingRewards.remove(playerId);
+        pendingRewards.remove(playerId);
+        journal.compactAsync(playerId);
+    }
+
+    public boolean isLoaded(UUID playerId) {
+        CompletableFuture<Void> future = loadingRewards.get(playerId);
+        return future != null && future.isDone();
     }
 
     /**
@@ -241,10 +339,7 @@ public class RewardManager {
         boolean claimed = processReward(player, reward);
         if (claimed) {
             rewards.remove(reward);
-            if (rewards.isEmpty()) {
-                pendingRewards.remove(player.getUniqueId());
-            }
-            savePendingRewards();
+            journal.appendClaim(player.getUniqueId(), reward.getId());
         }
 
         return claimed;
@@ -263,15 +358,11 @@ public class RewardManager {
         for (PendingReward reward : toClaim) {
             if (processReward(player, reward)) {
                 rewards.remove(reward);
+                journal.appendClaim(player.getUniqueId(), reward.getId());
                 claimed++;
             }
         }
 
-        if (rewards.isEmpty()) {
-            pendingRewards.remove(player.getUniqueId());
-        }
-        savePendingRewards();
-
         return claimed;
     }
 
@@ -328,46 +419,20 @@ public class RewardManager {
     }
 
     /**
-     * Salva recompensas pendentes em arquivo
+     * Registra uma recompensa nova no journal (custo proporcional só à recompensa)
      */
-    private void savePendingRewards() {
-        FileConfiguration config = new YamlConfiguration();
-
-        for (Map.Entry<UUID, List<PendingReward>> entry : pendingRewards.entrySet()) {
-            String uuidStr = entry.getKey().toString();
-            List<PendingReward> rewards = entry.getValue();
-
-            for (int i = 0; i < rewards.size(); i++) {
-                PendingReward reward = rewards.get(i);
-                String path = uuidStr + "." + i;
-
-                config.set(path + ".id", reward.getId());
-                config.set(path + ".type", reward.getType().name());
-                config.set(path + ".dungeon", reward.getDungeonId());
-                config.set(path + ".timestamp", reward.getTimestamp());
-
-                switch (reward.getType()) {
-                    case COMMAND -> config.set(path + ".command", reward.getCommand());
-                    case ITEM -> config.set(path + ".item", reward.getItem());
-                    case EXPERIENCE -> config.set(path + ".experience", reward.getExperience());
-                    case POINTS -> config.set(path + ".points", reward.getPoints());
-                }
-            }
-        }
-
+    private void journalAdd(UUID playerId, PendingReward reward) {
         try {
-            config.save(rewardsFile);
+            journal.appendAdd(playerId, reward.getId(), PendingRewardCodec.encode(reward));
         } catch (IOException e) {
-            plugin.getLogger().severe("Failed to save pending rewards: " + e.getMessage());
+            plugin.getLogger().severe("Failed to serialize pending reward " + reward.getId() + ": " + e.getMessage());
         }
     }
 
     /**
-     * Carrega recompensas pendentes do arquivo
+     * Importa o antigo pending_rewards.yml para o journal
      */
-    private void loadPendingRewards() {
-        if (!rewardsFile.exists()) return;
-
+    private void migrateLegacyRewards() {
         FileConfiguration config = YamlConfiguration.loadConfiguration(rewardsFile);
 
         for (String uuidStr : config.getKeys(false)) {
@@ -376,42 +441,55 @@ public class RewardManager {
                 ConfigurationSection playerSection = config.getConfigurationSection(uuidStr);
                 if (playerSection == null) continue;
 
-                List<PendingReward> rewards = new ArrayList<>();
-
                 for (String indexStr : playerSection.getKeys(false)) {
                     ConfigurationSection rewardSection = playerSection.getConfigurationSection(indexStr);
                     if (rewardSection == null) continue;
 
-                    String dungeonId = rewardSection.getString("dungeon", "unknown");
                     PendingReward.RewardType type = PendingReward.RewardType.valueOf(
                             rewardSection.getString("type", "POINTS"));
+                    PendingReward reward = new PendingReward(
+                            rewardSection.getString("id", UUID.randomUUID().toString().substring(0, 8)),
+                            type,
+                            rewardSection.getString("dungeon", "unknown"),
+                            rewardSection.getLong("timestamp", System.currentTimeMillis()));
+
+                    switch (type) {
+                        case COMMAND -> reward.setCommand(rewardSection.getString("command", ""));
+                        case ITEM -> reward.setItem(rewardSection.getItemStack("item"));
+                        case EXPERIENCE -> reward.setExperience(rewardSection.getInt("experience", 0));
+                        case POINTS -> reward.setPoints(rewardSection.getInt("points", 0));
+                    }
 
-                    PendingReward reward = switch (type) {
-                        case COMMAND -> PendingReward.createCommandReward(dungeonId, 
-                                rewardSection.getString("command", ""));
-                        case ITEM -> PendingReward.createItemReward(dungeonId, 
-                                rewardSection.getItemStack("item"));
-                        case EXPERIENCE -> PendingReward.createExperienceReward(dungeonId, 
-                                rewardSection.getInt("experience", 0));
-                        case POINTS -> PendingReward.createPointsReward(dungeonId, 
-                                rewardSection.getInt("points", 0));
-                    };
-
-                    rewards.add(reward);
-                }
-
-                if (!rewards.isEmpty()) {
-                    pendingRewards.put(playerId, rewards);
+                    if (type == PendingReward.RewardType.ITEM && reward.getItem() == null) continue;
+                    addPendingReward(playerId, reward);
                 }
             } catch (Exception e) {
-                plugin.getLogger().warning("Failed to load rewards for " + uuidStr + ": " + e.getMessage());
+                plugin.getLogger().warning("Failed to migrate rewards for " + uuidStr + ": " + e.getMessage());
             }
         }
 
-        plugin.getLogger().info("Loaded pending rewards for " + pendingRewards.size() + " players!");
+        File migrated = new File(plugin.getDataFolder(), "pending_rewards.yml.migrated");
+        if (rewardsFile.renameTo(migrated)) {
+            plugin.getLogger().info("Migrated pending_rewards.yml to the rewards journal");
+        }
     }
 
+    /**
+     * Fecha o journal, esperando os registros pendentes serem gravados
+     */
+    public void shutdown() {
+        long timeout = plugin.getConfig().getLong("storage.shutdown-timeout", 10) * 1000L;
+        journal.close(timeout);
+    }
+
+    /**
+     * Quantidade de recompensas pendentes, ou -1 se o shard do jogador não está
+     * carregado (jogador offline ou leitura ainda em andamento): o valor é desconhecido
+     */
     public int getPendingRewardCount(UUID playerId) {
+        if (!isLoaded(playerId)) {
+            return -1;
+        }
         return pendingRewards.getOrDefault(playerId, Collections.emptyList()).size();
     }
 }
@@ -6,8 +6,6 @@ import github.dimazbtw.lib.utils.basics.ColorUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.*;
 
 import java.util.*;
@@ -17,8 +15,8 @@ public class ScoreboardManager {
 
     private final Main plugin;
     private final Map<UUID, Scoreboard> playerScoreboards;
-    private final Map<UUID, BukkitTask> titleAnimationTasks;
-    private final Map<UUID, BukkitTask> updateTasks;
+    private final Map<UUID, DungeonScheduler.Task> titleAnimationTasks;
+    private final Map<UUID, DungeonScheduler.Task> updateTasks;
 
     // Color codes for unique empty lines
     private static final String[] EMPTY_LINE_COLORS = {
@@ -188,74 +186,69 @@ public class ScoreboardManager {
 
     private void startTitleAnimation(Player player, Objective objective) {
         // Cancel existing task if any
-        BukkitTask existingTask = titleAnimationTasks.get(player.getUniqueId());
+        DungeonScheduler.Task existingTask = titleAnimationTasks.get(player.getUniqueId());
         if (existingTask != null && !existingTask.isCancelled()) {
             existingTask.cancel();
         }
 
-        BukkitTask task = new BukkitRunnable() {
-            int index = 0;
-
-            @Override
-            public void run() {
-                if (!player.isOnline() || !playerScoreboards.containsKey(player.getUniqueId())) {
-                    cancel();
-                    titleAnimationTasks.remove(player.getUniqueId());
-                    return;
-                }
-
-                try {
-                    objective.setDisplayName(animatedTitles.get(index));
-                    index = (index + 1) % animatedTitles.size();
-                } catch (Exception e) {
-                    cancel();
-                    titleAnimationTasks.remove(player.getUniqueId());
-                }
+        int[] index = {0};
+        DungeonScheduler.Task task = plugin.getDungeonScheduler().runTimer(player.getUniqueId(),
+                DungeonScheduler.Phase.PLAYER, 0L, titleAnimationInterval, animation -> {
+            if (!player.isOnline() || !playerScoreboards.containsKey(player.getUniqueId())) {
+                animation.cancel();
+                titleAnimationTasks.remove(player.getUniqueId());
+                return;
             }
-        }.runTaskTimer(plugin, 0L, titleAnimationInterval);
+
+            try {
+                objective.setDisplayName(animatedTitles.get(index[0]));
+                index[0] = (index[0] + 1) % animatedTitles.size();
+            } catch (Exception e) {
+                animation.cancel();
+                titleAnimationTasks.remove(player.getUniqueId());
+            }
+        });
 
         titleAnimationTasks.put(player.getUniqueId(), task);
     }
 
     private void startUpdateTask(Player player, DungeonSession session) {
         // Cancel existing task if any
-        BukkitTask existingTask = updateTasks.get(player.getUniqueId());
+        DungeonScheduler.Task existingTask = updateTasks.get(player.getUniqueId());
         if (existingTask != null && !existingTask.isCancelled()) {
             existingTask.cancel();
         }
 
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (!player.isOnline() || !playerScoreboards.containsKey(player.getUniqueId())) {
-                    cancel();
-                    updateTasks.remove(player.getUniqueId());
-                    return;
-                }
-
-                DungeonSession currentSession = plugin.getSessionManager().getPlayerSession(player);
-                if (currentSession == null || currentSession.isEnded()) {
-                    cancel();
-                    updateTasks.remove(player.getUniqueId());
-                    return;
-                }
-
-                updateInGameScoreboard(player, currentSession);
+        DungeonScheduler.Task task = plugin.getDungeonScheduler().runTimer(player.getUniqueId(),
+                DungeonScheduler.Phase.PLAYER, updateInterval, updateInterval, update -> {
+            if (!player.isOnline() || !playerScoreboards.containsKey(player.getUniqueId())) {
+                update.cancel();
+                updateTasks.remove(player.getUniqueId());
+                return;
             }
-        }.runTaskTimer(plugin, updateInterval, updateInterval);
+
+            DungeonSession currentSession = plugin.getSessionManager().getPlayerSession(player);
+            if (currentSession == null || currentSession.isEnded()) {
+                update.cancel();
+                updateTasks.remove(player.getUniqueId());
+                return;
+            }
+
+            updateInGameScoreboard(player, currentSession);
+        });
 
         updateTasks.put(player.getUniqueId(), task);
     }
 
     public void removeScoreboard(Player player) {
         // Cancel title animation task
-        BukkitTask titleTask = titleAnimationTasks.remove(player.getUniqueId());
+        DungeonScheduler.Task titleTask = titleAnimationTasks.remove(player.getUniqueId());
         if (titleTask != null && !titleTask.isCancelled()) {
             titleTask.cancel();
         }
 
         // Cancel update task
-        BukkitTask updateTask = updateTasks.remove(player.getUniqueId());
+        DungeonScheduler.Task updateTask = updateTasks.remove(player.getUniqueId());
         if (updateTask != null && !updateTask.isCancelled()) {
             updateTask.cancel();
         }
@@ -7,17 +7,17 @@ import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class SessionManager {
 
     private final Main plugin;
     private final Map<String, DungeonSession> sessions;
-    private final Map<String, DungeonSession> dungeonSessions;
+    // Sessões de cada dungeon, uma por slot de arena
+    private final Map<String, List<DungeonSession>> dungeonSessions;
     private final Map<UUID, DungeonSession> playerSessions;
 
     public SessionManager(Main plugin) {
@@ -27,18 +27,86 @@ public class SessionManager {
         this.playerSessions = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Entra na sessão aguardando jogadores da dungeon ou abre uma nova em uma arena livre
+     */
+    public boolean joinDungeon(Player player, Dungeon dungeon) {
+        if (playerSessions.containsKey(player.getUniqueId())) {
+            plugin.getMessageManager().sendMessage(player, "already-in-dungeon");
+            return false;
+        }
+
+        if (!dungeon.isOpen()) {
+            player.sendMessage(ColorUtils.colorize(dungeon.getClosedMessage()));
+            return false;
+        }
+
+        // Com matchmaking ativo a entrada acontece quando a party é formada
+        if (plugin.getQueueManager() != null && plugin.getQueueManager().isEnabled()) {
+            return plugin.getQueueManager().enqueue(player, dungeon);
+        }
+
+        DungeonSession session = getJoinableSession(dungeon.getId());
+        if (session == null) {
+            session = createSession(dungeon);
+        }
+
+        // Todas as arenas ocupadas
+        if (session == null) {
+            plugin.getMessageManager().sendMessage(player, "dungeon-in-progress");
+            return false;
+        }
+
+        return joinSession(player, session);
+    }
+
+    /**
+     * Cria uma sessão em um slot de arena livre. Retorna null se todas estão ocupadas.
+     */
     public DungeonSession createSession(Dungeon dungeon) {
-        if (dungeonSessions.containsKey(dungeon.getId())) {
-            return dungeonSessions.get(dungeon.getId());
+        ArenaSlot arena = allocateArena(dungeon);
+        if (arena == null) {
+            return null;
         }
 
-        DungeonSession session = new DungeonSession(dungeon);
+        DungeonSession session = new DungeonSession(dungeon, arena);
         sessions.put(session.getSessionId(), session);
-        dungeonSessions.put(dungeon.getId(), session);
+        dungeonSessions.computeIfAbsent(dungeon.getId(), k -> new CopyOnWriteArrayList<>()).add(session);
 
         return session;
     }
 
+    private ArenaSlot allocateArena(Dungeon dungeon) {
+        for (ArenaSlot arena : dungeon.getArenas()) {
+            if (isUsable(dungeon, arena) && !isArenaOccupied(dungeon.getId(), arena.getId())) {
+                return arena;
+            }
+        }
+        return null;
+    }
+
+    // Arenas extras precisam de entrada e spawn de mobs; a padrão mantém o comportamento antigo
+    private boolean isUsable(Dungeon dungeon, ArenaSlot arena) {
+        return arena.isConfigured() || arena == dungeon.getDefaultArena();
+    }
+
+    private void releaseArena(DungeonSession session) {
+        dungeonSessions.computeIfPresent(session.getDungeon().getId(), (id, list) -> {
+            list.remove(session);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    // Comparado por id: após um reload as sessões ativas ainda apontam para os slots antigos
+    public boolean isArenaOccupied(String dungeonId, String arenaId) {
+        for (DungeonSession session : getSessionsByDungeon(dungeonId)) {
+            if (session.getArena().getId().equalsIgnoreCase(arenaId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean joinSession(Player player, DungeonSession session) {
         if (playerSessions.containsKey(player.getUniqueId())) {
             plugin.getMessageManager().sendMessage(player, "already-in-dungeon");
@@ -63,6 +131,95 @@ public class SessionManager {
             return false;
         }
 
+        admit(player, session);
+
+        // Broadcast
+        Map<String, String> broadcastPlaceholders = new HashMap<>();
+        broadcastPlaceholders.put("player", player.getName());
+        broadcastPlaceholders.put("current", String.valueOf(session.getPlayerCount()));
+        broadcastPlaceholders.put("max", String.valueOf(dungeon.getMaxPlayers()));
+
+        String joinMessage = plugin.getMessageManager().getMessageWithPrefix("player-joined", broadcastPlaceholders);
+        session.broadcast(joinMessage);
+
+        // Check start
+        checkStart(session);
+
+        return true;
+    }
+
+    /**
+     * Coloca na sessão uma party formada pela fila de matchmaking: um único
+     * anúncio e uma única verificação de início para a party inteira.
+     * Retorna quantos jogadores entraram.
+     */
+    public int joinParty(List<Player> party, DungeonSession session) {
+        Dungeon dungeon = session.getDungeon();
+        int joined = 0;
+
+        // Mesmas verificações de joinSession: horário e sessão ainda aceitando jogadores
+        if (!dungeon.isOpen() || (!session.isWaiting() && !session.isStarting())) {
+            String closed = ColorUtils.colorize(dungeon.getClosedMessage());
+            for (Player player : party) {
+                if (!dungeon.isOpen()) {
+                    player.sendMessage(closed);
+                } else {
+                    plugin.getMessageManager().sendMessage(player, "dungeon-in-progress");
+                }
+            }
+            if (session.getPlayerCount() == 0) {
+                sessions.remove(session.getSessionId());
+                releaseArena(session);
+            }
+            return 0;
+        }
+
+        for (Player player : party) {
+            if (session.getPlayerCount() >= dungeon.getMaxPlayers()) break;
+            if (!player.isOnline() || playerSessions.containsKey(player.getUniqueId())) continue;
+
+            admit(player, session);
+            joined++;
+        }
+
+        // Ninguém da party estava disponível: libera a arena
+        if (session.getPlayerCount() == 0) {
+            sessions.remove(session.getSessionId());
+            releaseArena(session);
+            return 0;
+        }
+
+        if (joined > 0) {
+            Map<String, String> placeholders = new HashMap<>();
+            placeholders.put("players", String.valueOf(joined));
+            placeholders.put("current", String.valueOf(session.getPlayerCount()));
+            placeholders.put("max", String.valueOf(dungeon.getMaxPlayers()));
+            session.broadcast(plugin.getMessageManager().getMessageWithPrefix("party-formed", placeholders));
+
+            checkStart(session);
+        }
+
+        return joined;
+    }
+
+    /**
+     * Registra o jogador na sessão na hora (vagas e início dependem disso) e
+     * enfileira a parte pesada da entrada no pipeline
+     */
+    private void admit(Player player, DungeonSession session) {
+        session.addPlayer(player);
+        playerSessions.put(player.getUniqueId(), session);
+
+        plugin.getSessionPipeline().submit(session, player, SessionPipeline.Stage.ADMIT,
+                joined -> prepare(joined, session));
+    }
+
+    /**
+     * Parte pesada da entrada: inventário, itens, teleporte e scoreboard
+     */
+    private void prepare(Player player, DungeonSession session) {
+        Dungeon dungeon = session.getDungeon();
+
         // Store player inventory
         if (plugin.getConfig().getBoolean("dungeon-settings.save-inventory", true)) {
             session.storeInventory(player, new PlayerInventoryData(player));
@@ -85,35 +242,18 @@ public class SessionManager {
         giveCustomItems(player);
 
         // Teleport to entry
-        Location entryLoc = dungeon.getRandomEntryLocation();
+        Location entryLoc = session.getRandomEntryLocation();
         if (entryLoc != null) {
             player.teleport(entryLoc);
         }
 
-        session.addPlayer(player);
-        playerSessions.put(player.getUniqueId(), session);
-
         // Send messages
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("dungeon", dungeon.getDisplayName());
         plugin.getMessageManager().sendMessage(player, "dungeon-joined", placeholders);
 
-        // Broadcast
-        Map<String, String> broadcastPlaceholders = new HashMap<>();
-        broadcastPlaceholders.put("player", player.getName());
-        broadcastPlaceholders.put("current", String.valueOf(session.getPlayerCount()));
-        broadcastPlaceholders.put("max", String.valueOf(dungeon.getMaxPlayers()));
-
-        String joinMessage = plugin.getMessageManager().getMessageWithPrefix("player-joined", broadcastPlaceholders);
-        session.broadcast(joinMessage);
-
         // Apply scoreboard
         plugin.getScoreboardManager().applyWaitingScoreboard(player, session);
-
-        // Check start
-        checkStart(session);
-
-        return true;
     }
 
     private void giveCustomItems(Player player) {
@@ -144,6 +284,9 @@ public class SessionManager {
         DungeonSession session = playerSessions.remove(player.getUniqueId());
         if (session == null) return;
 
+        // Entrada ainda na fila: inventário e posição não foram tocados
+        boolean admitPending = plugin.getSessionPipeline().cancel(player.getUniqueId());
+
         // Verificar se o jogador está morto (perdeu equipamento) ou vivo (sincronizar)
         boolean playerDied = session.isPlayerDead(player.getUniqueId());
         
@@ -157,7 +300,7 @@ public class SessionManager {
 
         // Sincronizar equipamento se jogador NÃO morreu (consumíveis usados)
         // Se morreu, o equipamento já foi limpo
-        if (!playerDied) {
+        if (!playerDied && !admitPending) {
             plugin.getEquipmentManager().syncEquipmentFromInventory(player);
         }
 
@@ -172,8 +315,8 @@ public class SessionManager {
         player.setHealth(Math.min(player.getHealth(), 20.0));
 
         // Teleport to exit
-        Location exitLoc = session.getDungeon().getExitLocation();
-        if (exitLoc != null) {
+        Location exitLoc = session.getExitLocation();
+        if (exitLoc != null && !admitPending) {
             player.teleport(exitLoc);
         }
 
@@ -197,6 +340,7 @@ public class SessionManager {
         } else if (session.isStarting() && session.getPlayerCount() < session.getDungeon().getMinPlayers()) {
             session.cancelCountdownTask();
             session.setState(DungeonSession.SessionState.WAITING);
+            plugin.getChunkTicketManager().release(session);
             session.broadcast(plugin.getMessageManager().getMessageWithPrefix("starting-cancelled"));
         } else if (session.isInProgress() && session.getAlivePlayerCount() == 0) {
             endSession(session, false);
@@ -214,64 +358,72 @@ public class SessionManager {
     private void startCountdown(DungeonSession session) {
         session.setState(DungeonSession.SessionState.STARTING);
 
-        int countdown = plugin.getConfig().getInt("dungeon-settings.start-countdown", 10);
-
-        BukkitTask task = new BukkitRunnable() {
-            int timeLeft = countdown;
+        // Carrega os chunks da arena enquanto a contagem corre
+        plugin.getChunkTicketManager().prewarm(session);
 
-            @Override
-            public void run() {
-                if (session.isEnded()) {
-                    cancel();
-                    return;
-                }
+        int[] timeLeft = {plugin.getConfig().getInt("dungeon-settings.start-countdown", 10)};
 
-                if (session.getPlayerCount() < session.getDungeon().getMinPlayers()) {
-                    session.setState(DungeonSession.SessionState.WAITING);
-                    session.broadcast(plugin.getMessageManager().getMessageWithPrefix("starting-cancelled"));
-                    cancel();
-                    return;
-                }
+        DungeonScheduler.Task task = plugin.getDungeonScheduler().runTimer(session.getSessionId(),
+                DungeonScheduler.Phase.SESSION, 0L, 20L, countdown -> {
+            if (session.isEnded()) {
+                countdown.cancel();
+                return;
+            }
 
-                if (timeLeft <= 0) {
-                    startDungeon(session);
-                    cancel();
-                    return;
-                }
+            if (session.getPlayerCount() < session.getDungeon().getMinPlayers()) {
+                session.setState(DungeonSession.SessionState.WAITING);
+                plugin.getChunkTicketManager().release(session);
+                session.broadcast(plugin.getMessageManager().getMessageWithPrefix("starting-cancelled"));
+                countdown.cancel();
+                return;
+            }
 
-                // Update scoreboards
-                for (Player player : session.getOnlinePlayers()) {
-                    plugin.getScoreboardManager().updateWaitingScoreboard(player, session, timeLeft);
-                }
+            if (timeLeft[0] <= 0) {
+                startDungeon(session);
+                countdown.cancel();
+                return;
+            }
 
-                // Send countdown
-                if (timeLeft <= 5 || timeLeft == 10 || timeLeft == 30) {
-                    Map<String, String> placeholders = new HashMap<>();
-                    placeholders.put("time", String.valueOf(timeLeft));
-                    session.broadcast(plugin.getMessageManager().getMessageWithPrefix("starting-in", placeholders));
+            // Update scoreboards
+            int secondsLeft = timeLeft[0];
+            session.forEachPlayer(player ->
+                    plugin.getScoreboardManager().updateWaitingScoreboard(player, session, secondsLeft));
 
-                    // Play countdown sound
-                    for (Player player : session.getOnlinePlayers()) {
-                        plugin.getMessageManager().playSound(player, "countdown", 1.0f, 1.0f + (0.1f * (5 - timeLeft)));
-                    }
-                }
+            // Send countdown
+            if (secondsLeft <= 5 || secondsLeft == 10 || secondsLeft == 30) {
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("time", String.valueOf(secondsLeft));
+                session.broadcast(plugin.getMessageManager().getMessageWithPrefix("starting-in", placeholders));
 
-                timeLeft--;
+                // Play countdown sound
+                float pitch = 1.0f + (0.1f * (5 - secondsLeft));
+                session.forEachPlayer(player -> plugin.getMessageManager().playSound(player, "countdown", 1.0f, pitch));
             }
-        }.runTaskTimer(plugin, 0L, 20L);
+
+            timeLeft[0]--;
+        });
 
         session.setCountdownTask(task);
     }
 
+    /**
+     * Inicia a sessão sem esperar a contagem (jogadores ainda entrando são preparados antes)
+     */
+    public void forceStart(DungeonSession session) {
+        session.cancelCountdownTask();
+        startDungeon(session);
+    }
+
     private void startDungeon(DungeonSession session) {
         session.setState(DungeonSession.SessionState.IN_PROGRESS);
         session.setStartTime(System.currentTimeMillis());
         session.setCurrentRound(0);
 
-        Dungeon dungeon = session.getDungeon();
+        // Sem contagem (forcestart ou start-countdown 0) os chunks ainda não foram reservados
+        plugin.getChunkTicketManager().prewarm(session);
 
-        // Teleportar jogadores para spawn de entrada
-        List<Location> entryLocations = dungeon.getEntryLocations();
+        // Teleportar jogadores para spawn de entrada (cada um em uma etapa do pipeline)
+        List<Location> entryLocations = session.getArena().getEntryLocations();
         int locIndex = 0;
         
         for (Player player : session.getOnlinePlayers()) {
@@ -281,33 +433,43 @@ public class SessionManager {
                 entryLoc = entryLocations.get(locIndex % entryLocations.size());
                 locIndex++;
             } else {
-                entryLoc = dungeon.getRandomEntryLocation();
+                entryLoc = session.getRandomEntryLocation();
             }
-            
-            if (entryLoc != null) {
-                player.teleport(entryLoc);
-            }
-            
-            // Aplicar stats de vitalidade/força/agilidade APENAS quando dungeon começa
-            PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-            if (data != null) {
-                github.dimazbtw.dungeons.menus.PerksMenu.applyStats(player, data);
-                // Curar para vida máxima com vitality
-                player.setHealth(data.getMaxHealth());
-            }
-            
-            // Send title and apply scoreboard
-            plugin.getMessageManager().sendTitle(player, "dungeon-start");
-            plugin.getScoreboardManager().applyInGameScoreboard(player, session);
+
+            plugin.getSessionPipeline().submit(session, player, SessionPipeline.Stage.START,
+                    starting -> prepareStart(starting, session, entryLoc));
         }
 
-        session.broadcast(plugin.getMessageManager().getMessageWithPrefix("dungeon-started"));
+        // Depois que todos os jogadores estiverem prontos
+        plugin.getSessionPipeline().then(session, () -> {
+            session.broadcast(plugin.getMessageManager().getMessageWithPrefix("dungeon-started"));
 
-        // Start first round
-        Bukkit.getScheduler().runTaskLater(plugin, () -> startNextRound(session), 40L);
+            // Start first round
+            plugin.getSpawnScheduler().prestage(session, 1);
+            plugin.getDungeonScheduler().runLater(session.getSessionId(), DungeonScheduler.Phase.SESSION, 40L,
+                    () -> startNextRound(session));
 
-        // Start action bar task
-        startActionBarTask(session);
+            // Start action bar task
+            startActionBarTask(session);
+        });
+    }
+
+    private void prepareStart(Player player, DungeonSession session, Location entryLoc) {
+        if (entryLoc != null) {
+            player.teleport(entryLoc);
+        }
+        
+        // Aplicar stats de vitalidade/força/agilidade APENAS quando dungeon começa
+        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
+        if (data != null) {
+            github.dimazbtw.dungeons.menus.PerksMenu.applyStats(player, data);
+            // Curar para vida máxima com vitality
+            player.setHealth(data.getMaxHealth());
+        }
+        
+        // Send title and apply scoreboard
+        plugin.getMessageManager().sendTitle(player, "dungeon-start");
+        plugin.getScoreboardManager().applyInGameScoreboard(player, session);
     }
 
     public void startNextRound(DungeonSession session) {
@@ -331,59 +493,21 @@ public class SessionManager {
         Map<String, String> placeholders = new HashMap<>();
         placeholders.put("round", String.valueOf(session.getCurrentRound()));
 
-        for (Player player : session.getOnlinePlayers()) {
-            plugin.getMessageManager().sendTitle(player, "round-start", placeholders);
-        }
+        session.forEachPlayer(player -> plugin.getMessageManager().sendTitle(player, "round-start", placeholders));
 
         session.broadcast(plugin.getMessageManager().getMessageWithPrefix("round-start", placeholders));
 
         // Spawn mobs
         if (roundConfig != null) {
-            spawnRoundMobs(session, roundConfig);
+            plugin.getSpawnScheduler().spawnWave(session);
         } else if (!dungeon.isLimitedRounds()) {
             spawnUnlimitedMobs(session);
         }
     }
 
-    private void spawnRoundMobs(DungeonSession session, RoundConfig roundConfig) {
-        Dungeon dungeon = session.getDungeon();
-        int mobLimit = plugin.getDungeonManager().getMobLimit(dungeon.getId());
-
-        for (MobSpawnConfig mobConfig : roundConfig.getMobs()) {
-            int toSpawn = Math.min(mobConfig.getCount(), mobLimit - session.getAliveMobCount());
-
-            for (int i = 0; i < toSpawn; i++) {
-                Location spawnLoc = dungeon.getRandomMobSpawnLocation();
-                if (spawnLoc != null) {
-                    final int index = i;
-                    long delay = (long) (mobConfig.getSpawnDelay() * 20 * index);
-
-                    Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                        if (!session.isEnded()) {
-                            plugin.getMobManager().spawnMob(mobConfig.getMobId(), spawnLoc, session);
-                            session.addMobsSpawned(1);
-                        }
-                    }, delay);
-                }
-            }
-        }
-    }
-
     private void spawnUnlimitedMobs(DungeonSession session) {
         Dungeon dungeon = session.getDungeon();
-        int mobLimit = plugin.getDungeonManager().getMobLimit(dungeon.getId());
-
-        for (MobSpawnConfig mobConfig : dungeon.getUnlimitedMobs()) {
-            int toSpawn = Math.min(mobConfig.getCount(), mobLimit - session.getAliveMobCount());
-
-            for (int i = 0; i < toSpawn; i++) {
-                Location spawnLoc = dungeon.getRandomMobSpawnLocation();
-                if (spawnLoc != null) {
-                    plugin.getMobManager().spawnMob(mobConfig.getMobId(), spawnLoc, session);
-                    session.addMobsSpawned(1);
-                }
-            }
-        }
+        plugin.getSpawnScheduler().spawnWave(session);
 
         // Check for boss spawn in unlimited
         if (dungeon.isSpawnBossInUnlimited() && session.getCurrentRound() == dungeon.getBossSpawnRound()) {
@@ -395,11 +519,10 @@ public class SessionManager {
     }
 
     private void spawnBoss(DungeonSession session, String bossId) {
-        Dungeon dungeon = session.getDungeon();
-        Location bossSpawn = dungeon.getBossSpawnLocation();
+        Location bossSpawn = session.getBossSpawnLocation();
 
         if (bossSpawn == null) {
-            bossSpawn = dungeon.getRandomMobSpawnLocation();
+            bossSpawn = session.getRandomMobSpawnLocation();
         }
 
         if (bossSpawn != null) {
@@ -407,9 +530,7 @@ public class SessionManager {
             session.broadcast(plugin.getMessageManager().getMessageWithPrefix("boss-spawning"));
 
             // Play boss spawn sound
-            for (Player player : session.getOnlinePlayers()) {
-                plugin.getMessageManager().playSound(player, "boss-spawn");
-            }
+            session.forEachPlayer(player -> plugin.getMessageManager().playSound(player, "boss-spawn"));
 
             // Spawn boss
             LivingEntity boss = plugin.getBossManager().spawnBoss(bossId, bossSpawn, session);
@@ -425,9 +546,7 @@ public class SessionManager {
                 Map<String, String> placeholders = new HashMap<>();
                 placeholders.put("boss_name", bossName);
 
-                for (Player player : session.getOnlinePlayers()) {
-                    plugin.getMessageManager().sendTitle(player, "boss-spawn", placeholders);
-                }
+                session.forEachPlayer(player -> plugin.getMessageManager().sendTitle(player, "boss-spawn", placeholders));
 
                 session.broadcast(plugin.getMessageManager().getMessageWithPrefix("boss-spawned"));
             }
@@ -438,9 +557,7 @@ public class SessionManager {
         session.incrementMobsKilled();
 
         // Update scoreboards
-        for (Player player : session.getOnlinePlayers()) {
-            plugin.getScoreboardManager().updateInGameScoreboard(player, session);
-        }
+        session.forEachPlayer(player -> plugin.getScoreboardManager().updateInGameScoreboard(player, session));
 
         if (isBoss) {
             session.setActiveBoss(null);
@@ -452,9 +569,10 @@ public class SessionManager {
             session.broadcast(plugin.getMessageManager().getMessageWithPrefix("boss-defeated"));
 
             // Play boss defeated sound
-            for (Player player : session.getOnlinePlayers()) {
-                plugin.getMessageManager().playSound(player, "boss-defeated");
-            }
+            session.forEachPlayer(player -> plugin.getMessageManager().playSound(player, "boss-defeated"));
+
+            // Ronda encerrada pelo boss: minions que sobrarem não agendam outra
+            session.setRoundCleared(true);
 
             // Check if dungeon complete
             Dungeon dungeon = session.getDungeon();
@@ -464,23 +582,52 @@ public class SessionManager {
             }
 
             // Wait and start next round
+            plugin.getSpawnScheduler().prestage(session, session.getCurrentRound() + 1);
             int roundInterval = plugin.getConfig().getInt("dungeon-settings.round-interval", 5);
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getDungeonScheduler().runLater(session.getSessionId(), DungeonScheduler.Phase.SESSION,
+                    roundInterval * 20L, () -> {
                 if (!session.isEnded()) {
                     startNextRound(session);
                 }
-            }, roundInterval * 20L);
+            });
             return;
         }
 
+        checkRoundProgress(session);
+    }
+
+    /**
+     * Um mob saiu da sessão sem morrer (removido por outro plugin ou descarregado
+     * com o chunk). Um boss perdido assim nasce de novo; nos dois casos a ronda é
+     * reavaliada, já que nenhuma morte vai chamar onMobKilled.
+     */
+    public void onMobLost(DungeonSession session, boolean wasBoss) {
+        if (wasBoss && session.hasBoss()) {
+            session.setActiveBoss(null);
+            plugin.getBossBarManager().removeBossBar(session);
+            session.setState(DungeonSession.SessionState.IN_PROGRESS);
+            session.setRoundCleared(false);
+        }
+        checkRoundProgress(session);
+    }
+
+    /**
+     * Encerra a ronda quando não há mobs vivos, boss ou spawns na fila. Chamado nas
+     * mortes e também quando o contador cai por fora delas (reconciliação, chunk
+     * descarregado, fila de spawn esvaziada); roda no máximo uma vez por ronda.
+     */
+    public void checkRoundProgress(DungeonSession session) {
+        if (session.isEnded() || session.isRoundCleared() || session.getCurrentRound() == 0) return;
+        if (session.getState() != DungeonSession.SessionState.IN_PROGRESS && !session.isBossRound()) return;
+
         // Check if all mobs are dead
-        if (session.getAliveMobCount() == 0 && !session.hasBoss()) {
+        if (session.getAliveMobCount() == 0 && !session.hasBoss()
+                && !plugin.getSpawnScheduler().hasPending(session)) {
+            session.setRoundCleared(true);
             session.broadcast(plugin.getMessageManager().getMessageWithPrefix("all-mobs-killed"));
 
             // Play round complete sound
-            for (Player player : session.getOnlinePlayers()) {
-                plugin.getMessageManager().playSound(player, "round-complete");
-            }
+            session.forEachPlayer(player -> plugin.getMessageManager().playSound(player, "round-complete"));
 
             // Check if current round has a boss to spawn
             Dungeon dungeon = session.getDungeon();
@@ -489,21 +636,28 @@ public class SessionManager {
             if (roundConfig != null && roundConfig.hasBoss() && !session.isBossRound()) {
                 // Spawn boss after all mobs are killed
                 session.setState(DungeonSession.SessionState.BOSS_ROUND);
-                Bukkit.getScheduler().runTaskLater(plugin, () -> {
-                    if (!session.isEnded()) {
-                        spawnBoss(session, roundConfig.getBossId());
+                plugin.getDungeonScheduler().runLater(session.getSessionId(), DungeonScheduler.Phase.SESSION, 40L, () -> {
+                    if (session.isEnded()) return;
+
+                    spawnBoss(session, roundConfig.getBossId());
+                    if (!session.hasBoss()) {
+                        // Boss não nasceu: segue para a próxima ronda em vez de travar
+                        session.setRoundCleared(false);
+                        checkRoundProgress(session);
                     }
-                }, 40L);
+                });
                 return;
             }
 
             // No boss, wait and start next round
+            plugin.getSpawnScheduler().prestage(session, session.getCurrentRound() + 1);
             int roundInterval = plugin.getConfig().getInt("dungeon-settings.round-interval", 5);
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getDungeonScheduler().runLater(session.getSessionId(), DungeonScheduler.Phase.SESSION,
+                    roundInterval * 20L, () -> {
                 if (!session.isEnded()) {
                     startNextRound(session);
                 }
-            }, roundInterval * 20L);
+            });
         }
     }
 
@@ -560,7 +714,7 @@ public class SessionManager {
             player.setFoodLevel(20);
             
             // Teleportar para entrada
-            Location entryLoc = session.getDungeon().getRandomEntryLocation();
+            Location entryLoc = session.getRandomEntryLocation();
             if (entryLoc != null) {
                 player.teleport(entryLoc);
             }
@@ -595,6 +749,8 @@ public class SessionManager {
     private void completeDungeon(DungeonSession session) {
         session.setState(DungeonSession.SessionState.ENDED);
         session.cancelAllTasks();
+        plugin.getDungeonScheduler().cancelAll(session.getSessionId());
+        plugin.getSpawnScheduler().cancel(session);
 
         // Clear mobs and boss bar
         plugin.getMobManager().clearSessionMobs(session);
@@ -619,7 +775,8 @@ public class SessionManager {
         session.broadcast(plugin.getMessageManager().getMessageWithPrefix("dungeon-completed"));
 
         // Cleanup after delay
-        Bukkit.getScheduler().runTaskLater(plugin, () -> cleanupSession(session), 100L);
+        plugin.getDungeonScheduler().runLater(session.getSessionId(), DungeonScheduler.Phase.SESSION, 100L,
+                () -> cleanupSession(session));
     }
 
     public void endSession(DungeonSession session, boolean completed) {
@@ -627,6 +784,8 @@ public class SessionManager {
 
         session.setState(DungeonSession.SessionState.ENDED);
         session.cancelAllTasks();
+        plugin.getDungeonScheduler().cancelAll(session.getSessionId());
+        plugin.getSpawnScheduler().cancel(session);
 
         // Clear mobs and boss bar
         plugin.getMobManager().clearSessionMobs(session);
@@ -647,12 +806,14 @@ public class SessionManager {
             session.broadcast(plugin.getMessageManager().getMessageWithPrefix("dungeon-failed"));
         }
 
-        Bukkit.getScheduler().runTaskLater(plugin, () -> cleanupSession(session), 60L);
+        plugin.getDungeonScheduler().runLater(session.getSessionId(), DungeonScheduler.Phase.SESSION, 60L,
+                () -> cleanupSession(session));
     }
 
     private void cleanupSession(DungeonSession session) {
         for (UUID playerId : new HashSet<>(session.getPlayers())) {
             Player player = Bukkit.getPlayer(playerId);
+            boolean admitPending = plugin.getSessionPipeline().cancel(playerId);
             if (player != null && player.isOnline()) {
                 // Restaurar modo de jogo para survival (caso esteja em espectador)
                 player.setGameMode(org.bukkit.GameMode.SURVIVAL);
@@ -661,7 +822,7 @@ public class SessionManager {
                 boolean playerDied = session.isPlayerDead(playerId);
                 
                 // Sincronizar equipamento se jogador NÃO morreu (consumíveis usados)
-                if (!playerDied) {
+                if (!playerDied && !admitPending) {
                     plugin.getEquipmentManager().syncEquipmentFromInventory(player);
                 }
                 
@@ -678,8 +839,8 @@ public class SessionManager {
                 player.setHealth(Math.min(player.getHealth(), 20.0));
 
                 // Teleportar para saída
-                Location exitLoc = session.getDungeon().getExitLocation();
-                if (exitLoc != null) {
+                Location exitLoc = session.getExitLocation();
+                if (exitLoc != null && !admitPending) {
                     player.teleport(exitLoc);
                 }
 
@@ -690,69 +851,68 @@ public class SessionManager {
         }
 
         sessions.remove(session.getSessionId());
-        dungeonSessions.remove(session.getDungeon().getId());
+        releaseArena(session);
+        plugin.getChunkTicketManager().release(session);
     }
 
     private void startActionBarTask(DungeonSession session) {
-        BukkitTask task = new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (session.isEnded()) {
-                    cancel();
-                    return;
-                }
+        DungeonScheduler.Task task = plugin.getDungeonScheduler().runTimer(session.getSessionId(),
+                DungeonScheduler.Phase.PLAYER, 0L, 20L, hud -> {
+            if (session.isEnded()) {
+                hud.cancel();
+                return;
+            }
+
+            session.forEachPlayer(player -> {
+                // Placeholders básicos
+                Map<String, String> placeholders = new HashMap<>();
+                placeholders.put("dungeon", session.getDungeon().getDisplayName());
+                placeholders.put("round", String.valueOf(session.getCurrentRound()));
+                placeholders.put("mobs_left", String.valueOf(session.getMobsLeft()));
+                placeholders.put("player", player.getName());
 
-                for (Player player : session.getOnlinePlayers()) {
-                    // Placeholders básicos
-                    Map<String, String> placeholders = new HashMap<>();
-                    placeholders.put("dungeon", session.getDungeon().getDisplayName());
-                    placeholders.put("round", String.valueOf(session.getCurrentRound()));
-                    placeholders.put("mobs_left", String.valueOf(session.getMobsLeft()));
-                    placeholders.put("player", player.getName());
+                // Placeholders de atributos (da espada)
+                PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
+                
+                // Placeholders de vida - usa max_health do PlayerData se disponível
+                double maxHealth = data != null ? data.getMaxHealth() : player.getMaxHealth();
+                placeholders.put("health", String.format("%.1f", player.getHealth()));
+                placeholders.put("max_health", String.format("%.1f", maxHealth));
+                placeholders.put("health_percent", String.format("%.0f", (player.getHealth() / maxHealth) * 100));
 
-                    // Placeholders de atributos (da espada)
-                    PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
+                if (data != null) {
+                    // Atributos base
+                    placeholders.put("vitality", String.valueOf(data.getVitality()));
+                    placeholders.put("strength", String.valueOf(data.getStrength()));
+                    placeholders.put("agility", String.valueOf(data.getAgility()));
                     
-                    // Placeholders de vida - usa max_health do PlayerData se disponível
-                    double maxHealth = data != null ? data.getMaxHealth() : player.getMaxHealth();
-                    placeholders.put("health", String.format("%.1f", player.getHealth()));
-                    placeholders.put("max_health", String.format("%.1f", maxHealth));
-                    placeholders.put("health_percent", String.format("%.0f", (player.getHealth() / maxHealth) * 100));
-
-                    if (data != null) {
-                        // Atributos base
-                        placeholders.put("vitality", String.valueOf(data.getVitality()));
-                        placeholders.put("strength", String.valueOf(data.getStrength()));
-                        placeholders.put("agility", String.valueOf(data.getAgility()));
-                        
-                        // Encantamentos
-                        placeholders.put("smite", String.valueOf(data.getEnchantLevel("smite")));
-                        placeholders.put("wisdom", String.valueOf(data.getEnchantLevel("wisdom")));
-                        placeholders.put("crit", String.valueOf(data.getEnchantLevel("crit")));
-                        placeholders.put("thor", String.valueOf(data.getEnchantLevel("thor")));
-                        placeholders.put("lifesteal", String.valueOf(data.getEnchantLevel("lifesteal")));
-                        placeholders.put("shockwave", String.valueOf(data.getEnchantLevel("shockwave")));
-                        
-                        // Estatísticas
-                        placeholders.put("xp", String.valueOf(data.getExperience()));
-                        placeholders.put("points", String.valueOf(data.getPoints()));
-                        placeholders.put("level", String.valueOf(data.getLevel()));
-                        placeholders.put("kills", String.valueOf(data.getMobsKilled()));
-                    }
+                    // Encantamentos
+                    placeholders.put("smite", String.valueOf(data.getEnchantLevel("smite")));
+                    placeholders.put("wisdom", String.valueOf(data.getEnchantLevel("wisdom")));
+                    placeholders.put("crit", String.valueOf(data.getEnchantLevel("crit")));
+                    placeholders.put("thor", String.valueOf(data.getEnchantLevel("thor")));
+                    placeholders.put("lifesteal", String.valueOf(data.getEnchantLevel("lifesteal")));
+                    placeholders.put("shockwave", String.valueOf(data.getEnchantLevel("shockwave")));
+                    
+                    // Estatísticas
+                    placeholders.put("xp", String.valueOf(data.getExperience()));
+                    placeholders.put("points", String.valueOf(data.getPoints()));
+                    placeholders.put("level", String.valueOf(data.getLevel()));
+                    placeholders.put("kills", String.valueOf(data.getMobsKilled()));
+                }
 
-                    // Bônus calculados da arma
-                    double smiteBonus = plugin.getWeaponManager().getSmiteDamageBonus(player);
-                    double wisdomBonus = plugin.getWeaponManager().getWisdomBonus(player);
-                    placeholders.put("smite_bonus", String.format("%.1f", smiteBonus));
-                    placeholders.put("wisdom_bonus", String.format("%.1f", wisdomBonus));
+                // Bônus calculados da arma
+                double smiteBonus = plugin.getWeaponManager().getSmiteDamageBonus(player);
+                double wisdomBonus = plugin.getWeaponManager().getWisdomBonus(player);
+                placeholders.put("smite_bonus", String.format("%.1f", smiteBonus));
+                placeholders.put("wisdom_bonus", String.format("%.1f", wisdomBonus));
 
-                    String actionBar = plugin.getMessageManager().getActionBar("in-dungeon", placeholders);
+                String actionBar = plugin.getMessageManager().getActionBar("in-dungeon", placeholders);
 
-                    player.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR,
-                            net.md_5.bungee.api.chat.TextComponent.fromLegacyText(actionBar));
-                }
-            }
-        }.runTaskTimer(plugin, 0L, 20L);
+                player.spigot().sendMessage(net.md_5.bungee.api.ChatMessageType.ACTION_BAR,
+                        net.md_5.bungee.api.chat.TextComponent.fromLegacyText(actionBar));
+            });
+        });
 
         session.setActionBarTask(task);
     }
@@ -768,8 +928,48 @@ public class SessionManager {
         return sessions.get(sessionId);
     }
 
-    public DungeonSession getSessionByDungeon(String dungeonId) {
-        return dungeonSessions.get(dungeonId);
+    /**
+     * Sessões ativas da dungeon (uma por arena ocupada)
+     */
+    public List<DungeonSession> getSessionsByDungeon(String dungeonId) {
+        List<DungeonSession> list = dungeonSessions.get(dungeonId);
+        return list != null ? Collections.unmodifiableList(list) : Collections.emptyList();
+    }
+
+    /**
+     * Sessão da dungeon que ainda aceita jogadores (aguardando/iniciando e com vaga)
+     */
+    public DungeonSession getJoinableSession(String dungeonId) {
+        for (DungeonSession session : getSessionsByDungeon(dungeonId)) {
+            if ((session.isWaiting() || session.isStarting())
+                    && session.getPlayerCount() < session.getDungeon().getMaxPlayers()) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Quantidade de arenas da dungeon que podem receber uma sessão
+     */
+    public int getArenaCapacity(Dungeon dungeon) {
+        int capacity = 0;
+        for (ArenaSlot arena : dungeon.getArenas()) {
+            if (isUsable(dungeon, arena)) capacity++;
+        }
+        return capacity;
+    }
+
+    public int getOccupiedArenaCount(String dungeonId) {
+        return getSessionsByDungeon(dungeonId).size();
+    }
+
+    public int getPlayersInDungeon(String dungeonId) {
+        int players = 0;
+        for (DungeonSession session : getSessionsByDungeon(dungeonId)) {
+            players += session.getPlayerCount();
+        }
+        return players;
     }
 
     public DungeonSession getPlayerSession(Player player) {
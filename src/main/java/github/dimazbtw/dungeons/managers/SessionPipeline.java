@@ -0,0 +1,133 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.DungeonSession;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Pipeline da entrada e do início das sessões. O trabalho pesado por jogador
+ * (inventário, itens, teleporte, stats, scoreboard) vira uma etapa na fila e
+ * cada tick executa etapas até gastar scheduler.pipeline-budget ms, então uma
+ * party grande se espalha por alguns ticks em vez de pesar em um só.
+ * <p>
+ * A fila é FIFO: as etapas de uma sessão rodam na ordem em que foram enviadas,
+ * e uma barreira ({@link #then}) só roda depois de todas as etapas anteriores.
+ */
+public class SessionPipeline {
+
+    public enum Stage {
+        ADMIT,
+        START,
+        BARRIER
+    }
+
+    private final Main plugin;
+    private final ArrayDeque<Step> steps;
+
+    private long budgetNanos;
+
+    public SessionPipeline(Main plugin) {
+        this.plugin = plugin;
+        this.steps = new ArrayDeque<>();
+        loadConfig();
+        plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.SESSION, 1L, 1L, task -> tick());
+    }
+
+    private void loadConfig() {
+        double budgetMillis = plugin.getConfig().getDouble("scheduler.pipeline-budget", 2.0);
+        this.budgetNanos = budgetMillis > 0 ? (long) (budgetMillis * 1_000_000L) : Long.MAX_VALUE;
+    }
+
+    public void reload() {
+        loadConfig();
+    }
+
+    /**
+     * Enfileira uma etapa de um jogador. Só roda se ele continuar online e na sessão.
+     */
+    public void submit(DungeonSession session, Player player, Stage stage, Consumer<Player> action) {
+        steps.add(new Step(session, player.getUniqueId(), stage, action, null));
+    }
+
+    /**
+     * Enfileira uma etapa da sessão que roda depois de todas as já enviadas
+     */
+    public void then(DungeonSession session, Runnable action) {
+        steps.add(new Step(session, null, Stage.BARRIER, null, action));
+    }
+
+    /**
+     * Descarta as etapas pendentes do jogador (saiu da sessão). Retorna true se a
+     * entrada dele ainda não tinha sido preparada, ou seja, inventário intocado.
+     */
+    public boolean cancel(UUID uuid) {
+        boolean admitPending = false;
+        Iterator<Step> iterator = steps.iterator();
+        while (iterator.hasNext()) {
+            Step step = iterator.next();
+            if (uuid.equals(step.player)) {
+                admitPending |= step.stage == Stage.ADMIT;
+                iterator.remove();
+            }
+        }
+        return admitPending;
+    }
+
+    private void tick() {
+        if (steps.isEmpty()) return;
+
+        long start = System.nanoTime();
+        // Sempre ao menos uma etapa por tick
+        do {
+            try {
+                run(steps.poll());
+            } catch (Exception e) {
+                plugin.getLogger().warning("Session pipeline step failed: " + e);
+            }
+        } while (!steps.isEmpty() && System.nanoTime() - start < budgetNanos);
+    }
+
+    private void run(Step step) {
+        if (step.session.isEnded()) return;
+
+        if (step.stage == Stage.BARRIER) {
+            step.barrier.run();
+            return;
+        }
+
+        Player player = Bukkit.getPlayer(step.player);
+        if (player == null || plugin.getSessionManager().getPlayerSession(player) != step.session) return;
+
+        step.action.accept(player);
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    public int getPendingCount() {
+        return steps.size();
+    }
+
+    public double getBudgetMillis() {
+        return budgetNanos == Long.MAX_VALUE ? 0 : budgetNanos / 1_000_000.0;
+    }
+
+    private static class Step {
+        private final DungeonSession session;
+        private final UUID player;
+        private final Stage stage;
+        private final Consumer<Player> action;
+        private final Runnable barrier;
+
+        Step(DungeonSession session, UUID player, Stage stage, Consumer<Player> action, Runnable barrier) {
+            this.session = session;
+            this.player = player;
+            this.stage = stage;
+            this.action = action;
+            this.barrier = barrier;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package github.dimazbtw.dungeons.managers;
+
+import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.Dungeon;
+import github.dimazbtw.dungeons.models.DungeonMob;
+import github.dimazbtw.dungeons.models.DungeonSession;
+import github.dimazbtw.dungeons.models.MobSpawnConfig;
+import github.dimazbtw.dungeons.models.RoundConfig;
+import org.bukkit.Location;
+import org.bukkit.entity.LivingEntity;
+
+import java.util.*;
+
+/**
+ * Fila global de spawns das waves. As sessões enfileiram pedidos e cada tick
+ * consome no máximo dungeon-settings.spawns-per-tick, um pedido por sessão em
+ * rodízio, para que várias sessões trocando de round juntas não derrubem o TPS.
+ * Cada spawn também precisa de vaga no lease da sessão ({@link EntityBudget}).
+ * A próxima wave é preparada (mobs resolvidos, pontos escolhidos) durante o
+ * intervalo entre rounds. Os chunks ficam por conta do {@link ChunkTicketManager}:
+ * um pedido cujo chunk ainda espera o ticket fica na fila até ele ser carregado.
+ */
+public class SpawnScheduler {
+
+    private final Main plugin;
+    private final Map<String, ArrayDeque<SpawnRequest>> pending;
+    private final ArrayDeque<String> rotation;
+    private final Map<String, StagedWave> staged;
+
+    private int spawnsPerTick;
+
+    public SpawnScheduler(Main plugin) {
+        this.plugin = plugin;
+        this.pending = new HashMap<>();
+        this.rotation = new ArrayDeque<>();
+        this.staged = new HashMap<>();
+        loadConfig();
+        plugin.getDungeonScheduler().runTimer(null, DungeonScheduler.Phase.SESSION, 1L, 1L, task -> tick());
+    }
+
+    private void loadConfig() {
+        this.spawnsPerTick = Math.max(1, plugin.getConfig().getInt("dungeon-settings.spawns-per-tick", 4));
+    }
+
+    public void reload() {
+        loadConfig();
+    }
+
+    // ==================== WAVES ====================
+
+    /**
+     * Prepara a wave do round durante o intervalo, para o início do round só enfileirar
+     */
+    public void prestage(DungeonSession session, int round) {
+        StagedWave wave = buildWave(session, round);
+        if (wave != null) {
+            staged.put(session.getSessionId(), wave);
+        }
+    }
+
+    private StagedWave buildWave(DungeonSession session, int round) {
+        Dungeon dungeon = session.getDungeon();
+        RoundConfig roundConfig = dungeon.getRound(round);
+
+        // Rounds configurados respeitam o spawn-delay; o modo ilimitado solta tudo de uma vez
+        List<MobSpawnConfig> configs;
+        if (roundConfig != null) {
+            configs = roundConfig.getMobs();
+        } else if (!dungeon.isLimitedRounds()) {
+            configs = dungeon.getUnlimitedMobs();
+        } else {
+            return null;
+        }
+        if (configs.isEmpty()) return null;
+
+        List<SpawnRequest> requests = new ArrayList<>();
+        for (MobSpawnConfig config : configs) {
+            DungeonMob mob = plugin.getMobManager().getMob(config.getMobId());
+            if (mob == null) {
+                plugin.getLogger().warning("Mob not found: " + config.getMobId());
+                continue;
+            }
+
+            for (int i = 0; i < config.getCount(); i++) {
+                Location location = session.getRandomMobSpawnLocation();
+                if (location == null || location.getWorld() == null) continue;
+
+                long delay = roundConfig != null ? (long) (config.getSpawnDelay() * 20 * i) : 0;
+                requests.add(new SpawnRequest(mob, location, delay, false));
+            }
+        }
+
+        // Ordem de saída: menor atraso primeiro (estável entre os tipos de mob)
+        requests.sort(Comparator.comparingLong(request -> request.delay));
+        return new StagedWave(round, requests);
+    }
+
+    /**
+     * Enfileira a wave do round atual da sessão (usa a wave preparada, se houver),
+     * respeitando o limite de mobs vivos da dungeon
+     */
+    public void spawnWave(DungeonSession session) {
+        int round = session.getCurrentRound();
+        StagedWave wave = staged.remove(session.getSessionId());
+        if (wave == null || wave.round != round) {
+            wave = buildWave(session, round);
+        }
+        if (wave == null) return;
+
+        int mobLimit = plugin.getDungeonManager().getMobLimit(session.getDungeon().getId());
+        int slots = mobLimit - session.getAliveMobCount();
+        if (slots <= 0) return;
+
+        long now = plugin.getDungeonScheduler().getCurrentTick();
+        ArrayDeque<SpawnRequest> queue = pending.computeIfAbsent(session.getSessionId(), k -> new ArrayDeque<>());
+        boolean wasIdle = queue.isEmpty();
+
+        for (SpawnRequest request : wave.requests) {
+            if (slots-- <= 0) break;
+            request.notBefore = now + request.delay;
+            queue.add(request);
+        }
+
+        if (wasIdle && !queue.isEmpty()) {
+            rotation.add(session.getSessionId());
+        }
+    }
+
+    /**
+     * Enfileira mobs invocados (ex.: summon-minions do boss) para o próximo tick.
+     * Ao contrário da wave, o que não couber no lease da sessão é descartado.
+     */
+    public void summon(DungeonSession session, DungeonMob mob, List<Location> locations) {
+        long now = plugin.getDungeonScheduler().getCurrentTick();
+        ArrayDeque<SpawnRequest> queue = pending.computeIfAbsent(session.getSessionId(), k -> new ArrayDeque<>());
+        boolean wasIdle = queue.isEmpty();
+
+        // Na frente da fila: invocações não esperam o resto da wave
+        for (int i = locations.size() - 1; i >= 0; i--) {
+            SpawnRequest request = new SpawnRequest(mob, locations.get(i), 0, true);
+            request.notBefore = now;
+            queue.addFirst(request);
+        }
+
+        if (wasIdle && !queue.isEmpty()) {
+            rotation.add(session.getSessionId());
+        }
+    }
+
+    // ==================== TICK ====================
+
+    private void tick() {
+        if (rotation.isEmpty()) return;
+
+        long now = plugin.getDungeonScheduler().getCurrentTick();
+        int budget = spawnsPerTick;
+        int idle = 0; // Sessões seguidas sem pedido pronto
+
+        while (budget > 0 && !rotation.isEmpty() && idle < rotation.size()) {
+            String sessionId = rotation.poll();
+            ArrayDeque<SpawnRequest> queue = pending.get(sessionId);
+            DungeonSession session = plugin.getSessionManager().getSession(sessionId);
+
+            if (session == null || session.isEnded()) {
+                pending.remove(sessionId);
+                continue;
+            }
+            if (queue == null || queue.isEmpty()) {
+                drained(sessionId, session);
+                continue;
+            }
+
+            if (queue.peek().notBefore > now
+                    || plugin.getChunkTicketManager().isWarming(queue.peek().location)) {
+                // Ainda no atraso, ou o chunk espera o ticket (carregado aos poucos pelo prewarm)
+                rotation.add(sessionId);
+                idle++;
+                continue;
+            }
+
+            if (!plugin.getEntityBudget().tryAcquire(session)) {
+                // Lease esgotado: minions são descartados, mobs da wave esperam vaga
+                if (queue.peek().optional) {
+                    queue.poll();
+                }
+                if (queue.isEmpty()) {
+                    drained(sessionId, session);
+                } else {
+                    rotation.add(sessionId);
+                }
+                idle++;
+                continue;
+            }
+
+            SpawnRequest request = queue.poll();
+            LivingEntity entity = plugin.getMobManager().spawnMob(request.mob, request.location, session, false);
+            if (entity != null) {
+                session.addMobsSpawned(1);
+            }
+            budget--;
+            idle = 0;
+
+            if (queue.isEmpty()) {
+                drained(sessionId, session);
+            } else {
+                rotation.add(sessionId);
+            }
+        }
+    }
+
+    /**
+     * Fila da sessão acabou. Se os últimos pedidos não viraram mob (spawn falhou
+     * ou minion descartado), nenhuma morte vai fechar a ronda, então a checagem
+     * roda aqui.
+     */
+    private void drained(String sessionId, DungeonSession session) {
+        pending.remove(sessionId);
+        plugin.getSessionManager().checkRoundProgress(session);
+    }
+
+    /**
+     * Descarta spawns pendentes e a wave preparada (fim da sessão)
+     */
+    public void cancel(DungeonSession session) {
+        pending.remove(session.getSessionId());
+        staged.remove(session.getSessionId());
+        rotation.remove(session.getSessionId());
+    }
+
+    /**
+     * Se a sessão ainda tem mobs para nascer nesta wave
+     */
+    public boolean hasPending(DungeonSession session) {
+        ArrayDeque<SpawnRequest> queue = pending.get(session.getSessionId());
+        return queue != null && !queue.isEmpty();
+    }
+
+    // ==================== MÉTRICAS ====================
+
+    public int getPendingCount() {
+        int count = 0;
+        for (ArrayDeque<SpawnRequest> queue : pending.values()) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * Mobs ainda na fila de uma sessão
+     */
+    public int getPendingCount(DungeonSession session) {
+        ArrayDeque<SpawnRequest> queue = pending.get(session.getSessionId());
+        return queue != null ? queue.size() : 0;
+    }
+
+    public int getStagedCount() {
+        return staged.size();
+    }
+
+    public int getSpawnsPerTick() {
+        return spawnsPerTick;
+    }
+
+    /**
+     * Um mob a nascer: modelo já resolvido, ponto escolhido e atraso dentro da wave
+     */
+    private static class SpawnRequest {
+        private final DungeonMob mob;
+        private final Location location;
+        private final long delay;
+        // Descartado (em vez de adiado) quando o lease da sessão está cheio
+        private final boolean optional;
+        private long notBefore;
+
+        SpawnRequest(DungeonMob mob, Location location, long delay, boolean optional) {
+            this.mob = mob;
+            this.location = location;
+            this.delay = delay;
+            this.optional = optional;
+        }
+    }
+
+    private static class StagedWave {
+        private final int round;
+        private final List<SpawnRequest> requests;
+
+        StagedWave(int round, List<SpawnRequest> requests) {
+            this.round = round;
+            this.requests = requests;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package github.dimazbtw.dungeons.managers;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.models.CombatProfile;
 import github.dimazbtw.dungeons.models.PlayerData;
 import github.dimazbtw.lib.utils.basics.ColorUtils;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -19,6 +21,8 @@ public class WeaponManager {
     private final Main plugin;
     private final NamespacedKey weaponKey;
     private final Map<String, EnchantConfig> enchants;
+    // Perfil de combate compilado por jogador em memória (só na thread principal)
+    private final Map<UUID, CombatProfile> profiles;
 
     private Material weaponMaterial;
     private String weaponName;
@@ -28,6 +32,7 @@ public class WeaponManager {
         this.plugin = plugin;
         this.weaponKey = new NamespacedKey(plugin, "dungeon_weapon");
         this.enchants = new HashMap<>();
+        this.profiles = new HashMap<>();
         loadConfig();
     }
 
@@ -87,6 +92,65 @@ public class WeaponManager {
 
     public void reload() {
         loadConfig();
+
+        // Os níveis do weapon.yml podem ter mudado
+        for (UUID uuid : new ArrayList<>(profiles.keySet())) {
+            compileProfile(uuid);
+        }
+    }
+
+    // ==================== PERFIL DE COMBATE ====================
+
+    /**
+     * Perfil de combate do jogador: uma consulta por evento de dano
+     */
+    public CombatProfile getProfile(Player player) {
+        CombatProfile profile = profiles.get(player.getUniqueId());
+        return profile != null ? profile : compileProfile(player.getUniqueId());
+    }
+
+    /**
+     * Resolve os níveis de encantamento do jogador contra o weapon.yml
+     */
+    public CombatProfile compileProfile(UUID uuid) {
+        PlayerData data = plugin.getPlayerDataManager().getData(uuid);
+        CombatProfile profile = data != null ? compile(data) : CombatProfile.EMPTY;
+        profiles.put(uuid, profile);
+        return profile;
+    }
+
+    public void removeProfile(UUID uuid) {
+        profiles.remove(uuid);
+    }
+
+    private CombatProfile compile(PlayerData data) {
+        EnchantLevel smite = getPlayerLevel(data, "smite");
+        EnchantLevel wisdom = getPlayerLevel(data, "wisdom");
+        EnchantLevel crit = getPlayerLevel(data, "crit");
+        EnchantLevel thor = getPlayerLevel(data, "thor");
+        EnchantLevel shockwave = getPlayerLevel(data, "shockwave");
+        EnchantLevel lifesteal = getPlayerLevel(data, "lifesteal");
+
+        return new CombatProfile(
+                smite != null ? smite.getValue() : 0,
+                wisdom != null ? wisdom.getValue() : 0,
+                crit != null ? crit.getChance() : 0,
+                thor != null ? thor.getChance() : 0,
+                thor != null ? thor.getRadius() : 0,
+                shockwave != null ? shockwave.getChance() : 0,
+                shockwave != null ? shockwave.getRadius() : 0,
+                shockwave != null ? shockwave.getKnockback() : 0,
+                lifesteal != null ? lifesteal.getChance() : 0,
+                lifesteal != null ? lifesteal.getValue() * 2 : 0
+        );
+    }
+
+    private EnchantLevel getPlayerLevel(PlayerData data, String enchantId) {
+        int level = data.getEnchantLevel(enchantId);
+        if (level == 0) return null;
+
+        EnchantConfig enchant = enchants.get(enchantId);
+        return enchant != null ? enchant.getLevel(level) : null;
     }
 
     public void giveWeapon(Player player) {
@@ -152,6 +216,7 @@ public class WeaponManager {
 
         data.removePoints(nextLevelConfig.getPointsCost());
         data.setEnchantLevel(enchantId, nextLevel);
+        compileProfile(player.getUniqueId());
 
         ItemStack inHand = player.getInventory().getItemInMainHand();
         if (isDungeonWeapon(inHand)) {
@@ -162,151 +227,59 @@ public class WeaponManager {
     }
 
     public double getSmiteDamageBonus(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return 0;
-
-        int level = data.getEnchantLevel("smite");
-        if (level == 0) return 0;
-
-        EnchantConfig enchant = enchants.get("smite");
-        if (enchant == null) return 0;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        return levelConfig != null ? levelConfig.getValue() : 0;
+        return getProfile(player).getSmiteBonus();
     }
 
     public double getWisdomBonus(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return 0;
-
-        int level = data.getEnchantLevel("wisdom");
-        if (level == 0) return 0;
-
-        EnchantConfig enchant = enchants.get("wisdom");
-        if (enchant == null) return 0;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        return levelConfig != null ? levelConfig.getValue() : 0;
+        return getProfile(player).getWisdomBonus();
     }
 
     public boolean shouldTriggerLifesteal(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return false;
-
-        int level = data.getEnchantLevel("lifesteal");
-        if (level == 0) return false;
-
-        EnchantConfig enchant = enchants.get("lifesteal");
-        if (enchant == null) return false;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        if (levelConfig == null) return false;
-
-        return Math.random() * 100 < levelConfig.getChance();
+        return getProfile(player).rollLifesteal();
     }
 
     public double getLifestealAmount(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return 0;
-
-        int level = data.getEnchantLevel("lifesteal");
-        if (level == 0) return 0;
-
-        EnchantConfig enchant = enchants.get("lifesteal");
-        if (enchant == null) return 0;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        return levelConfig != null ? levelConfig.getValue() * 2 : 0;
+        return getProfile(player).getLifestealAmount();
     }
 
-    public boolean shouldTriggerCrit(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return false;
+    /**
+     * Efeitos de abate de um mob com a arma da dungeon (lifesteal)
+     */
+    public void applyKillEffects(Player player, LivingEntity target) {
+        if (!isDungeonWeapon(player.getInventory().getItemInMainHand())) return;
 
-        int level = data.getEnchantLevel("crit");
-        if (level == 0) return false;
+        CombatProfile profile = getProfile(player);
+        if (!profile.rollLifesteal()) return;
 
-        EnchantConfig enchant = enchants.get("crit");
-        if (enchant == null) return false;
+        double newHealth = Math.min(player.getHealth() + profile.getLifestealAmount(), player.getMaxHealth());
+        player.setHealth(newHealth);
 
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        if (levelConfig == null) return false;
+        // Efeito de lifesteal com partículas de vida
+        plugin.getEffectsManager().playLifestealEffect(player, target.getLocation());
+    }
 
-        return Math.random() * 100 < levelConfig.getChance();
+    public boolean shouldTriggerCrit(Player player) {
+        return getProfile(player).rollCrit();
     }
 
     public boolean shouldTriggerThor(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return false;
-
-        int level = data.getEnchantLevel("thor");
-        if (level == 0) return false;
-
-        EnchantConfig enchant = enchants.get("thor");
-        if (enchant == null) return false;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        if (levelConfig == null) return false;
-
-        return Math.random() * 100 < levelConfig.getChance();
+        return getProfile(player).rollThor();
     }
 
     public double getThorRadius(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return 0;
-
-        int level = data.getEnchantLevel("thor");
-        if (level == 0) return 0;
-
-        EnchantConfig enchant = enchants.get("thor");
-        if (enchant == null) return 0;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        return levelConfig != null ? levelConfig.getRadius() : 0;
+        return getProfile(player).getThorRadius();
     }
 
     public boolean shouldTriggerShockwave(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return false;
-
-        int level = data.getEnchantLevel("shockwave");
-        if (level == 0) return false;
-
-        EnchantConfig enchant = enchants.get("shockwave");
-        if (enchant == null) return false;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        if (levelConfig == null) return false;
-
-        return Math.random() * 100 < levelConfig.getChance();
+        return getProfile(player).rollShockwave();
     }
 
     public double getShockwaveRadius(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return 0;
-
-        int level = data.getEnchantLevel("shockwave");
-        if (level == 0) return 0;
-
-        EnchantConfig enchant = enchants.get("shockwave");
-        if (enchant == null) return 0;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        return levelConfig != null ? levelConfig.getRadius() : 0;
+        return getProfile(player).getShockwaveRadius();
     }
 
     public double getShockwaveKnockback(Player player) {
-        PlayerData data = plugin.getPlayerDataManager().getData(player.getUniqueId());
-        if (data == null) return 0;
-
-        int level = data.getEnchantLevel("shockwave");
-        if (level == 0) return 0;
-
-        EnchantConfig enchant = enchants.get("shockwave");
-        if (enchant == null) return 0;
-
-        EnchantLevel levelConfig = enchant.getLevel(level);
-        return levelConfig != null ? levelConfig.getKnockback() : 0;
+        return getProfile(player).getShockwaveKnockback();
     }
 
     public static class EnchantConfig {
@@ -1,6 +1,7 @@
 package github.dimazbtw.dungeons.menus;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.managers.SessionManager;
 import github.dimazbtw.dungeons.models.Dungeon;
 import github.dimazbtw.dungeons.models.DungeonSession;
 import github.dimazbtw.lib.inventories.InventoryGUI;
@@ -111,16 +112,15 @@ public class DungeonListMenu {
         ConfigurationSection statusColors = config.getConfigurationSection("menu.status_colors");
 
         for (Dungeon dungeon : dungeons) {
-            DungeonSession session = plugin.getSessionManager().getSessionByDungeon(dungeon.getId());
-            ItemButton button = createDungeonButton(dungeon, session, buttonConfig, statusColors);
+            ItemButton button = createDungeonButton(dungeon, buttonConfig, statusColors);
             buttons.add(button);
         }
 
         return buttons;
     }
 
-    private ItemButton createDungeonButton(Dungeon dungeon, DungeonSession session,
-                                           ConfigurationSection buttonConfig, ConfigurationSection statusColors) {
+    private ItemButton createDungeonButton(Dungeon dungeon, ConfigurationSection buttonConfig,
+                                           ConfigurationSection statusColors) {
         Material material = dungeon.getMaterial();
         if (material == null) {
             String materialStr = buttonConfig != null ? buttonConfig.getString("material", "DIAMOND_SWORD") : "DIAMOND_SWORD";
@@ -148,8 +148,14 @@ public class DungeonListMenu {
         }
 
         // Process placeholders
+        SessionManager sessionManager = plugin.getSessionManager();
+        DungeonSession session = sessionManager.getJoinableSession(dungeon.getId());
+        // {current_players} acompanha {max_players} (uma sessão); o total de todas as arenas vai em {total_players}
         int currentPlayers = session != null ? session.getPlayerCount() : 0;
-        String status = getStatusString(session, statusColors);
+        int totalPlayers = sessionManager.getPlayersInDungeon(dungeon.getId());
+        int occupied = sessionManager.getOccupiedArenaCount(dungeon.getId());
+        int capacity = sessionManager.getArenaCapacity(dungeon);
+        String status = getStatusString(session, occupied < capacity, statusColors);
         String scheduleStr = dungeon.getScheduleString();
 
         String finalName = ColorUtils.colorize(name.replace("{dungeon_name}", dungeon.getDisplayName()));
@@ -162,8 +168,11 @@ public class DungeonListMenu {
                     .replace("{min_players}", String.valueOf(dungeon.getMinPlayers()))
                     .replace("{max_players}", String.valueOf(dungeon.getMaxPlayers()))
                     .replace("{current_players}", String.valueOf(currentPlayers))
-                    .replace("{total_players}", String.valueOf(currentPlayers))
+                    .replace("{total_players}", String.valueOf(totalPlayers))
                     .replace("{total_rounds}", String.valueOf(dungeon.getTotalRounds()))
+                    .replace("{instances}", occupied + "/" + capacity)
+                    .replace("{free_instances}", String.valueOf(Math.max(0, capacity - occupied)))
+                    .replace("{queue}", String.valueOf(plugin.getQueueManager().getQueueSize(dungeon.getId())))
                     .replace("{status}", status)
                     .replace("{schedule}", scheduleStr);
             finalLore.add(ColorUtils.colorize(processed));
@@ -184,14 +193,18 @@ public class DungeonListMenu {
         return button;
     }
 
-    private String getStatusString(DungeonSession session, ConfigurationSection statusColors) {
+    /**
+     * Status da dungeon: sessão aguardando jogadores, arena livre ou todas as arenas em andamento
+     */
+    private String getStatusString(DungeonSession session, boolean freeArena, ConfigurationSection statusColors) {
         if (statusColors == null) {
-            if (session == null) return "&aAvailable";
-            return session.isWaiting() ? "&eWaiting" : "&cIn Progress";
+            if (session == null) return freeArena ? "&aAvailable" : "&cIn Progress";
+            return session.isWaiting() ? "&eWaiting" : "&aStarting";
         }
 
         if (session == null) {
-            return ColorUtils.colorize(statusColors.getString("available", "&aAvailable"));
+            String key = freeArena ? "available" : "in_progress";
+            return ColorUtils.colorize(statusColors.getString(key, freeArena ? "&aAvailable" : "&cIn Progress"));
         }
 
         if (session.isWaiting()) {
@@ -284,12 +297,7 @@ public class DungeonListMenu {
     private void joinDungeon(Dungeon dungeon) {
         player.closeInventory();
 
-        DungeonSession session = plugin.getSessionManager().getSessionByDungeon(dungeon.getId());
-        if (session == null) {
-            session = plugin.getSessionManager().createSession(dungeon);
-        }
-
-        plugin.getSessionManager().joinSession(player, session);
+        plugin.getSessionManager().joinDungeon(player, dungeon);
     }
 
     public void open() {
@@ -151,9 +151,9 @@ public class MainMenu {
             result = result.replace("{dungeons_completed}", String.valueOf(data.getDungeonsCompleted()));
             result = result.replace("{mobs_killed}", String.valueOf(data.getMobsKilled()));
 
-            // Pending rewards
-            int pendingRewards = plugin.getRewardManager().getPendingRewards(player.getUniqueId()).size();
-            result = result.replace("{pending_rewards}", String.valueOf(pendingRewards));
+            // Pending rewards (-1: journal do jogador ainda carregando, valor desconhecido)
+            int pendingRewards = plugin.getRewardManager().getPendingRewardCount(player.getUniqueId());
+            result = result.replace("{pending_rewards}", pendingRewards >= 0 ? String.valueOf(pendingRewards) : "?");
 
             // Perk points (pontos disponíveis para gastar em atributos)
             int perkPoints = data.getAvailableAttributePoints();
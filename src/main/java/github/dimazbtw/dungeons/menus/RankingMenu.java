@@ -149,8 +149,10 @@ public class RankingMenu {
         if (playerEntry != null) {
             ItemButton yourPosition = new ItemButton(Material.PLAYER_HEAD,
                     ColorUtils.colorize("&e&lSua Posição"),
-                    ColorUtils.colorize("&7Posição: &f#" + playerPosition),
+                    ColorUtils.colorize("&7Posição: &f#" + String.format("%,d", playerPosition)
+                            + " &7de &f" + String.format("%,d", plugin.getRankingManager().getRankedPlayers(type))),
                     ColorUtils.colorize("&7Valor: &f" + playerEntry.getValue(type)),
+                    ColorUtils.colorize("&8Top atualizado há " + formatAge(plugin.getRankingManager().getSnapshot().getAgeMillis())),
                     "",
                     ColorUtils.colorize("&7Continue jogando para subir!")
             );
@@ -160,6 +162,12 @@ public class RankingMenu {
         gui.show(player);
     }
 
+    private String formatAge(long ageMillis) {
+        if (ageMillis < 0) return "-";
+        long seconds = ageMillis / 1000;
+        return seconds < 60 ? seconds + "s" : (seconds / 60) + "m";
+    }
+
     private ItemStack createPlayerHead(String playerName, int position, int value, RankingType type) {
         String positionColor = switch (position) {
             case 1 -> "&6&l"; // Ouro
@@ -6,31 +6,78 @@ import java.util.UUID;
 
 public class ActiveMob {
 
+    /**
+     * Nível de IA do mob conforme a distância dos jogadores
+     */
+    public enum AiLevel {
+        FULL,
+        REDUCED,
+        DORMANT
+    }
+
+    private final LivingEntity entity;
     private final UUID entityId;
+    private final int entityNumber;
     private final String mobId;
-    private final String sessionId;
+    private final DungeonSession session;
     private final boolean isBoss;
+    private final double range;
+    private AiLevel aiLevel;
 
-    public ActiveMob(LivingEntity entity, String mobId, String sessionId, boolean isBoss) {
+    public ActiveMob(LivingEntity entity, String mobId, DungeonSession session, boolean isBoss, double range) {
+        this.entity = entity;
         this.entityId = entity.getUniqueId();
+        this.entityNumber = entity.getEntityId();
         this.mobId = mobId;
-        this.sessionId = sessionId;
+        this.session = session;
         this.isBoss = isBoss;
+        this.range = range;
+        this.aiLevel = AiLevel.FULL;
+    }
+
+    public LivingEntity getEntity() {
+        return entity;
     }
 
     public UUID getEntityId() {
         return entityId;
     }
 
+    /**
+     * Id numérico da entidade no servidor (chave do registro do MobManager)
+     */
+    public int getEntityNumber() {
+        return entityNumber;
+    }
+
     public String getMobId() {
         return mobId;
     }
 
+    public DungeonSession getSession() {
+        return session;
+    }
+
     public String getSessionId() {
-        return sessionId;
+        return session.getSessionId();
     }
 
     public boolean isBoss() {
         return isBoss;
     }
+
+    /**
+     * Distância (range do mobs.yml/bosses.yml) até a qual o mob mantém IA completa
+     */
+    public double getRange() {
+        return range;
+    }
+
+    public AiLevel getAiLevel() {
+        return aiLevel;
+    }
+
+    public void setAiLevel(AiLevel aiLevel) {
+        this.aiLevel = aiLevel;
+    }
 }
@@ -0,0 +1,79 @@
+package github.dimazbtw.dungeons.models;
+
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uma cópia física da dungeon, com suas próprias localizações de entrada,
+ * mobs, boss e saída. O SessionManager garante uma sessão por slot.
+ */
+public class ArenaSlot {
+
+    private final String id;
+    private final List<Location> entryLocations;
+    private final List<Location> mobSpawnLocations;
+    private Location exitLocation;
+    private Location bossSpawnLocation;
+
+    public ArenaSlot(String id) {
+        this.id = id;
+        this.entryLocations = new ArrayList<>();
+        this.mobSpawnLocations = new ArrayList<>();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Slot com entrada e spawn de mobs definidos
+     */
+    public boolean isConfigured() {
+        return !entryLocations.isEmpty() && !mobSpawnLocations.isEmpty();
+    }
+
+    // Locations
+    public List<Location> getEntryLocations() {
+        return entryLocations;
+    }
+
+    public void addEntryLocation(Location location) {
+        this.entryLocations.add(location);
+    }
+
+    public List<Location> getMobSpawnLocations() {
+        return mobSpawnLocations;
+    }
+
+    public void addMobSpawnLocation(Location location) {
+        this.mobSpawnLocations.add(location);
+    }
+
+    public Location getExitLocation() {
+        return exitLocation;
+    }
+
+    public void setExitLocation(Location exitLocation) {
+        this.exitLocation = exitLocation;
+    }
+
+    public Location getBossSpawnLocation() {
+        return bossSpawnLocation;
+    }
+
+    public void setBossSpawnLocation(Location bossSpawnLocation) {
+        this.bossSpawnLocation = bossSpawnLocation;
+    }
+
+    public Location getRandomEntryLocation() {
+        if (entryLocations.isEmpty()) return null;
+        return entryLocations.get((int) (Math.random() * entryLocations.size()));
+    }
+
+    public Location getRandomMobSpawnLocation() {
+        if (mobSpawnLocations.isEmpty()) return null;
+        return mobSpawnLocations.get((int) (Math.random() * mobSpawnLocations.size()));
+    }
+}
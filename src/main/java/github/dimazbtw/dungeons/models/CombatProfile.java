@@ -0,0 +1,105 @@
+package github.dimazbtw.dungeons.models;
+
+/**
+ * Valores de combate de um jogador já resolvidos a partir dos níveis de
+ * encantamento e do weapon.yml. Imutável: o WeaponManager compila um novo
+ * quando os dados carregam, num upgrade ou no reload.
+ * Chances em porcentagem (0-100); zero quando o encantamento não está ativo.
+ */
+public class CombatProfile {
+
+    public static final CombatProfile EMPTY = new CombatProfile(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+    private final double smiteBonus;
+    private final double wisdomBonus;
+    private final double critChance;
+    private final double thorChance;
+    private final double thorRadius;
+    private final double shockwaveChance;
+    private final double shockwaveRadius;
+    private final double shockwaveKnockback;
+    private final double lifestealChance;
+    private final double lifestealAmount;
+
+    public CombatProfile(double smiteBonus, double wisdomBonus, double critChance,
+                         double thorChance, double thorRadius,
+                         double shockwaveChance, double shockwaveRadius, double shockwaveKnockback,
+                         double lifestealChance, double lifestealAmount) {
+        this.smiteBonus = smiteBonus;
+        this.wisdomBonus = wisdomBonus;
+        this.critChance = critChance;
+        this.thorChance = thorChance;
+        this.thorRadius = thorRadius;
+        this.shockwaveChance = shockwaveChance;
+        this.shockwaveRadius = shockwaveRadius;
+        this.shockwaveKnockback = shockwaveKnockback;
+        this.lifestealChance = lifestealChance;
+        this.lifestealAmount = lifestealAmount;
+    }
+
+    private static boolean roll(double chance) {
+        return chance > 0 && Math.random() * 100 < chance;
+    }
+
+    public boolean rollCrit() {
+        return roll(critChance);
+    }
+
+    public boolean rollThor() {
+        return roll(thorChance);
+    }
+
+    public boolean rollShockwave() {
+        return roll(shockwaveChance);
+    }
+
+    public boolean rollLifesteal() {
+        return roll(lifestealChance);
+    }
+
+    /**
+     * Bônus de dano do Smite em porcentagem
+     */
+    public double getSmiteBonus() {
+        return smiteBonus;
+    }
+
+    public double getWisdomBonus() {
+        return wisdomBonus;
+    }
+
+    public double getCritChance() {
+        return critChance;
+    }
+
+    public double getThorChance() {
+        return thorChance;
+    }
+
+    public double getThorRadius() {
+        return thorRadius;
+    }
+
+    public double getShockwaveChance() {
+        return shockwaveChance;
+    }
+
+    public double getShockwaveRadius() {
+        return shockwaveRadius;
+    }
+
+    public double getShockwaveKnockback() {
+        return shockwaveKnockback;
+    }
+
+    public double getLifestealChance() {
+        return lifestealChance;
+    }
+
+    /**
+     * Vida recuperada por abate (já em pontos de vida)
+     */
+    public double getLifestealAmount() {
+        return lifestealAmount;
+    }
+}
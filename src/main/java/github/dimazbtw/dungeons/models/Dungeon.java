@@ -10,6 +10,8 @@ import java.util.Map;
 
 public class Dungeon {
 
+    public static final String DEFAULT_ARENA = "default";
+
     private final String id;
     private String displayName;
     private List<String> description;
@@ -36,18 +38,15 @@ public class Dungeon {
     private boolean spawnBossInUnlimited;
     private int bossSpawnRound;
 
-    // Locations
-    private List<Location> entryLocations;
-    private Location exitLocation;
-    private List<Location> mobSpawnLocations;
-    private Location bossSpawnLocation;
+    // Arenas (instâncias). A primeira vem da seção "locs" e é usada pelos comandos de setup
+    private final List<ArenaSlot> arenas;
 
     public Dungeon(String id) {
         this.id = id;
         this.description = new ArrayList<>();
         this.rounds = new HashMap<>();
-        this.entryLocations = new ArrayList<>();
-        this.mobSpawnLocations = new ArrayList<>();
+        this.arenas = new ArrayList<>();
+        this.arenas.add(new ArenaSlot(DEFAULT_ARENA));
         this.unlimitedMobs = new ArrayList<>();
         this.schedule = new DungeonSchedule(); // Por padrão, sempre aberta
     }
@@ -196,54 +195,71 @@ public class Dungeon {
         this.bossSpawnRound = bossSpawnRound;
     }
 
-    public List<Location> getEntryLocations() {
-        return entryLocations;
+    // Arenas
+    public List<ArenaSlot> getArenas() {
+        return arenas;
+    }
+
+    public ArenaSlot getDefaultArena() {
+        return arenas.get(0);
+    }
+
+    public ArenaSlot getArena(String arenaId) {
+        for (ArenaSlot arena : arenas) {
+            if (arena.getId().equalsIgnoreCase(arenaId)) {
+                return arena;
+            }
+        }
+        return null;
     }
 
-    public void setEntryLocations(List<Location> entryLocations) {
-        this.entryLocations = entryLocations;
+    public void addArena(ArenaSlot arena) {
+        this.arenas.add(arena);
+    }
+
+    public int getArenaCount() {
+        return arenas.size();
+    }
+
+    // Locations da arena padrão
+    public List<Location> getEntryLocations() {
+        return getDefaultArena().getEntryLocations();
     }
 
     public Location getExitLocation() {
-        return exitLocation;
+        return getDefaultArena().getExitLocation();
     }
 
     public void setExitLocation(Location exitLocation) {
-        this.exitLocation = exitLocation;
+        getDefaultArena().setExitLocation(exitLocation);
     }
 
     public List<Location> getMobSpawnLocations() {
-        return mobSpawnLocations;
-    }
-
-    public void setMobSpawnLocations(List<Location> mobSpawnLocations) {
-        this.mobSpawnLocations = mobSpawnLocations;
+        return getDefaultArena().getMobSpawnLocations();
     }
 
     public Location getBossSpawnLocation() {
-        return bossSpawnLocation;
+        return getDefaultArena().getBossSpawnLocation();
     }
 
     public void setBossSpawnLocation(Location bossSpawnLocation) {
-        this.bossSpawnLocation = bossSpawnLocation;
+        getDefaultArena().setBossSpawnLocation(bossSpawnLocation);
     }
 
     public void addEntryLocation(Location location) {
-        this.entryLocations.add(location);
+        getDefaultArena().addEntryLocation(location);
     }
 
     public void addMobSpawnLocation(Location location) {
-        this.mobSpawnLocations.add(location);
+        getDefaultArena().addMobSpawnLocation(location);
     }
 
     public Location getRandomEntryLocation() {
-        if (entryLocations.isEmpty()) return null;
-        return entryLocations.get((int) (Math.random() * entryLocations.size()));
+        return getDefaultArena().getRandomEntryLocation();
     }
 
     public Location getRandomMobSpawnLocation() {
-        if (mobSpawnLocations.isEmpty()) return null;
-        return mobSpawnLocations.get((int) (Math.random() * mobSpawnLocations.size()));
+        return getDefaultArena().getRandomMobSpawnLocation();
     }
 
     public String getDescriptionString() {
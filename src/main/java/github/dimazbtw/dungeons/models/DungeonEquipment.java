@@ -22,6 +22,12 @@ public class DungeonEquipment {
     private ItemStack extraItem1;
     private ItemStack extraItem2;
 
+    // Alterado desde o último save
+    private boolean dirty;
+
+    // O arquivo salvo existe mas não pôde ser lido: este equipamento nunca é gravado
+    private boolean unreadable;
+
     public DungeonEquipment(UUID playerId) {
         this.playerId = playerId;
     }
@@ -30,6 +36,26 @@ public class DungeonEquipment {
         return playerId;
     }
 
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    /**
+     * Equipamento provisório de um jogador cujo arquivo salvo não pôde ser lido.
+     * Nunca é persistido, para não sobrescrever o arquivo real.
+     */
+    public boolean isUnreadable() {
+        return unreadable;
+    }
+
+    public void markUnreadable() {
+        this.unreadable = true;
+    }
+
     // ============ ARMADURA ============
 
     public ItemStack getHelmet() {
@@ -38,6 +64,7 @@ public class DungeonEquipment {
 
     public void setHelmet(ItemStack helmet) {
         this.helmet = helmet != null ? helmet.clone() : null;
+        dirty = true;
     }
 
     public ItemStack getChestplate() {
@@ -46,6 +73,7 @@ public class DungeonEquipment {
 
     public void setChestplate(ItemStack chestplate) {
         this.chestplate = chestplate != null ? chestplate.clone() : null;
+        dirty = true;
     }
 
     public ItemStack getLeggings() {
@@ -54,6 +82,7 @@ public class DungeonEquipment {
 
     public void setLeggings(ItemStack leggings) {
         this.leggings = leggings != null ? leggings.clone() : null;
+        dirty = true;
     }
 
     public ItemStack getBoots() {
@@ -62,6 +91,7 @@ public class DungeonEquipment {
 
     public void setBoots(ItemStack boots) {
         this.boots = boots != null ? boots.clone() : null;
+        dirty = true;
     }
 
     // ============ ITENS EXTRAS ============
@@ -72,6 +102,7 @@ public class DungeonEquipment {
 
     public void setExtraItem1(ItemStack extraItem1) {
         this.extraItem1 = extraItem1 != null ? extraItem1.clone() : null;
+        dirty = true;
     }
 
     public ItemStack getExtraItem2() {
@@ -80,6 +111,7 @@ public class DungeonEquipment {
 
     public void setExtraItem2(ItemStack extraItem2) {
         this.extraItem2 = extraItem2 != null ? extraItem2.clone() : null;
+        dirty = true;
     }
 
     // ============ UTILITÁRIOS ============
@@ -100,6 +132,7 @@ public class DungeonEquipment {
         this.leggings = armor[1] != null ? armor[1].clone() : null;
         this.chestplate = armor[2] != null ? armor[2].clone() : null;
         this.helmet = armor[3] != null ? armor[3].clone() : null;
+        dirty = true;
     }
 
     /**
@@ -127,6 +160,7 @@ public class DungeonEquipment {
         this.boots = null;
         this.extraItem1 = null;
         this.extraItem2 = null;
+        dirty = true;
     }
 
     /**
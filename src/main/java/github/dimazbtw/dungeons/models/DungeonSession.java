@@ -1,22 +1,38 @@
 package github.dimazbtw.dungeons.models;
 
 import github.dimazbtw.dungeons.Main;
+import github.dimazbtw.dungeons.managers.DungeonScheduler;
+import github.dimazbtw.dungeons.utils.SpatialGrid;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 public class DungeonSession {
 
+    private static final Player[] NO_PLAYERS = new Player[0];
+
     private final String sessionId;
     private final Dungeon dungeon;
+    private final ArenaSlot arena;
     private final Set<UUID> players;
     private final Set<UUID> deadPlayers;
+
+    // Referências dos jogadores (saem da sessão no quit), em arrays refeitos a cada
+    // entrada/saída/morte/revive na thread principal: a iteração não aloca e não
+    // é afetada por mudanças feitas durante ela
+    private final Map<UUID, Player> handles;
+    private volatile Player[] onlinePlayers;
+    private volatile Player[] alivePlayers;
+    private volatile Player[] deadOnlinePlayers;
     private final Set<UUID> activeMobs;
+    // Posições dos mobs da sessão, refeitas uma vez por tick pelo MobManager
+    private final SpatialGrid<ActiveMob> mobIndex;
     private UUID activeBoss;
 
     private SessionState state;
@@ -25,21 +41,29 @@ public class DungeonSession {
     private int totalMobsSpawned;
     private long startTime;
     private long roundStartTime;
+    // A ronda atual já foi encerrada (próxima ronda ou boss agendados)
+    private boolean roundCleared;
 
     // Tasks
-    private BukkitTask countdownTask;
-    private BukkitTask mobSpawnTask;
-    private BukkitTask actionBarTask;
+    private DungeonScheduler.Task countdownTask;
+    private DungeonScheduler.Task mobSpawnTask;
+    private DungeonScheduler.Task actionBarTask;
 
     // Stored player inventories
     private final Map<UUID, PlayerInventoryData> storedInventories;
 
-    public DungeonSession(Dungeon dungeon) {
+    public DungeonSession(Dungeon dungeon, ArenaSlot arena) {
         this.sessionId = UUID.randomUUID().toString().substring(0, 8);
         this.dungeon = dungeon;
+        this.arena = arena;
         this.players = ConcurrentHashMap.newKeySet();
         this.deadPlayers = ConcurrentHashMap.newKeySet();
+        this.handles = new LinkedHashMap<>();
+        this.onlinePlayers = NO_PLAYERS;
+        this.alivePlayers = NO_PLAYERS;
+        this.deadOnlinePlayers = NO_PLAYERS;
         this.activeMobs = ConcurrentHashMap.newKeySet();
+        this.mobIndex = new SpatialGrid<>();
         this.storedInventories = new ConcurrentHashMap<>();
         this.state = SessionState.WAITING;
         this.currentRound = 0;
@@ -55,6 +79,30 @@ public class DungeonSession {
         return dungeon;
     }
 
+    // Arena
+    public ArenaSlot getArena() {
+        return arena;
+    }
+
+    public Location getRandomEntryLocation() {
+        return arena.getRandomEntryLocation();
+    }
+
+    public Location getRandomMobSpawnLocation() {
+        return arena.getRandomMobSpawnLocation();
+    }
+
+    public Location getBossSpawnLocation() {
+        return arena.getBossSpawnLocation();
+    }
+
+    /**
+     * Saída da arena; sem saída própria, usa a saída padrão da dungeon
+     */
+    public Location getExitLocation() {
+        return arena.getExitLocation() != null ? arena.getExitLocation() : dungeon.getExitLocation();
+    }
+
     public Set<UUID> getPlayers() {
         return players;
     }
@@ -81,12 +129,44 @@ public class DungeonSession {
         if (players.size() >= dungeon.getMaxPlayers()) {
             return false;
         }
-        return players.add(player.getUniqueId());
+        if (!players.add(player.getUniqueId())) {
+            return false;
+        }
+        handles.put(player.getUniqueId(), player);
+        rebuildPartitions();
+        return true;
     }
 
     public boolean removePlayer(Player player) {
         deadPlayers.remove(player.getUniqueId());
-        return players.remove(player.getUniqueId());
+        handles.remove(player.getUniqueId());
+        boolean removed = players.remove(player.getUniqueId());
+        rebuildPartitions();
+        return removed;
+    }
+
+    private void rebuildPartitions() {
+        int dead = 0;
+        for (UUID uuid : handles.keySet()) {
+            if (deadPlayers.contains(uuid)) dead++;
+        }
+
+        Player[] online = new Player[handles.size()];
+        Player[] alive = new Player[online.length - dead];
+        Player[] deadOnline = new Player[dead];
+        int index = 0, aliveIndex = 0, deadIndex = 0;
+        for (Map.Entry<UUID, Player> entry : handles.entrySet()) {
+            online[index++] = entry.getValue();
+            if (deadPlayers.contains(entry.getKey())) {
+                deadOnline[deadIndex++] = entry.getValue();
+            } else {
+                alive[aliveIndex++] = entry.getValue();
+            }
+        }
+
+        this.onlinePlayers = online;
+        this.alivePlayers = alive;
+        this.deadOnlinePlayers = deadOnline;
     }
 
     public boolean hasPlayer(Player player) {
@@ -102,11 +182,15 @@ public class DungeonSession {
     }
 
     public void markPlayerDead(Player player) {
-        deadPlayers.add(player.getUniqueId());
+        if (deadPlayers.add(player.getUniqueId())) {
+            rebuildPartitions();
+        }
     }
 
     public void revivePlayer(Player player) {
-        deadPlayers.remove(player.getUniqueId());
+        if (deadPlayers.remove(player.getUniqueId())) {
+            rebuildPartitions();
+        }
     }
 
     /**
@@ -114,36 +198,78 @@ public class DungeonSession {
      */
     public void reviveAllDeadPlayers() {
         deadPlayers.clear();
+        rebuildPartitions();
     }
 
     /**
      * Retorna lista de jogadores vivos online
      */
     public List<Player> getAlivePlayers() {
-        List<Player> alive = new ArrayList<>();
-        for (UUID uuid : players) {
-            if (!deadPlayers.contains(uuid)) {
-                Player player = Bukkit.getPlayer(uuid);
-                if (player != null && player.isOnline()) {
-                    alive.add(player);
-                }
-            }
-        }
-        return alive;
+        return List.of(alivePlayers);
     }
 
     /**
      * Retorna lista de jogadores mortos online
      */
     public List<Player> getDeadOnlinePlayers() {
-        List<Player> dead = new ArrayList<>();
-        for (UUID uuid : deadPlayers) {
-            Player player = Bukkit.getPlayer(uuid);
-            if (player != null && player.isOnline()) {
-                dead.add(player);
+        return List.of(deadOnlinePlayers);
+    }
+
+    // Iteração sem alocação sobre os arrays atuais
+    public void forEachPlayer(Consumer<Player> action) {
+        for (Player player : onlinePlayers) {
+            action.accept(player);
+        }
+    }
+
+    public void forEachAlivePlayer(Consumer<Player> action) {
+        for (Player player : alivePlayers) {
+            action.accept(player);
+        }
+    }
+
+    /**
+     * Menor distância ao quadrado entre o ponto e um jogador vivo no mesmo mundo,
+     * ou Double.MAX_VALUE se nenhum estiver lá
+     */
+    public double getNearestAlivePlayerDistanceSquared(Location location) {
+        double nearest = Double.MAX_VALUE;
+        for (Player player : alivePlayers) {
+            Location playerLocation = player.getLocation();
+            if (playerLocation.getWorld() != location.getWorld()) continue;
+
+            nearest = Math.min(nearest, playerLocation.distanceSquared(location));
+        }
+        return nearest;
+    }
+
+    /**
+     * Jogadores online da sessão a até {@code radius} blocos do ponto, no mesmo mundo
+     */
+    public void forEachPlayerWithin(Location location, double radius, Consumer<Player> action) {
+        double radiusSquared = radius * radius;
+        for (Player player : onlinePlayers) {
+            Location playerLocation = player.getLocation();
+            if (playerLocation.getWorld() != location.getWorld()) continue;
+
+            if (playerLocation.distanceSquared(location) <= radiusSquared) {
+                action.accept(player);
             }
         }
-        return dead;
+    }
+
+    public void forEachDeadPlayer(Consumer<Player> action) {
+        for (Player player : deadOnlinePlayers) {
+            action.accept(player);
+        }
+    }
+
+    /**
+     * Jogador aleatório da sessão ou null se estiver vazia
+     */
+    public Player getRandomPlayer() {
+        Player[] online = onlinePlayers;
+        return online.length == 0 ? null : online[(int) (Math.random() * online.length)];
     }
 
     // Mob management
@@ -163,13 +289,36 @@ public class DungeonSession {
         return activeMobs.contains(entity.getUniqueId());
     }
 
+    /**
+     * Mobs da sessão a até {@code radius} blocos do ponto, pela posição do início
+     * do tick. Quem morreu neste tick ainda pode aparecer: confira isValid().
+     */
+    public void forEachMobWithin(Location location, double radius, Consumer<ActiveMob> action) {
+        mobIndex.query(location.getX(), location.getY(), location.getZ(), radius, action);
+    }
+
+    public SpatialGrid<ActiveMob> getMobIndex() {
+        return mobIndex;
+    }
+
+    /**
+     * Mobs vivos da sessão, em O(1). O conjunto é mantido pelos eventos de spawn,
+     * morte e descarregamento; desvios são corrigidos por {@link #reconcileMobs()}.
+     */
     public int getAliveMobCount() {
-        // Clean up dead/invalid mobs
+        return activeMobs.size();
+    }
+
+    /**
+     * Remove mobs que não existem mais no mundo. Retorna quantos foram corrigidos.
+     */
+    public int reconcileMobs() {
+        int before = activeMobs.size();
         activeMobs.removeIf(uuid -> {
             Entity entity = Bukkit.getEntity(uuid);
             return entity == null || entity.isDead() || !entity.isValid();
         });
-        return activeMobs.size();
+        return before - activeMobs.size();
     }
 
     public void clearMobs() {
@@ -180,6 +329,7 @@ public class DungeonSession {
             }
         }
         activeMobs.clear();
+        mobIndex.clear();
     }
 
     // Boss management
@@ -247,6 +397,15 @@ public class DungeonSession {
     public void nextRound() {
         this.currentRound++;
         this.roundStartTime = System.currentTimeMillis();
+        this.roundCleared = false;
+    }
+
+    public boolean isRoundCleared() {
+        return roundCleared;
+    }
+
+    public void setRoundCleared(boolean roundCleared) {
+        this.roundCleared = roundCleared;
     }
 
     public boolean hasMoreRounds() {
@@ -301,11 +460,11 @@ public class DungeonSession {
     }
 
     // Task management
-    public BukkitTask getCountdownTask() {
+    public DungeonScheduler.Task getCountdownTask() {
         return countdownTask;
     }
 
-    public void setCountdownTask(BukkitTask task) {
+    public void setCountdownTask(DungeonScheduler.Task task) {
         cancelCountdownTask();
         this.countdownTask = task;
     }
@@ -317,11 +476,11 @@ public class DungeonSession {
         countdownTask = null;
     }
 
-    public BukkitTask getMobSpawnTask() {
+    public DungeonScheduler.Task getMobSpawnTask() {
         return mobSpawnTask;
     }
 
-    public void setMobSpawnTask(BukkitTask task) {
+    public void setMobSpawnTask(DungeonScheduler.Task task) {
         cancelMobSpawnTask();
         this.mobSpawnTask = task;
     }
@@ -333,11 +492,11 @@ public class DungeonSession {
         mobSpawnTask = null;
     }
 
-    public BukkitTask getActionBarTask() {
+    public DungeonScheduler.Task getActionBarTask() {
         return actionBarTask;
     }
 
-    public void setActionBarTask(BukkitTask task) {
+    public void setActionBarTask(DungeonScheduler.Task task) {
         cancelActionBarTask();
         this.actionBarTask = task;
     }
@@ -374,23 +533,16 @@ public class DungeonSession {
 
     // Broadcast to all players
     public void broadcast(String message) {
-        for (UUID uuid : players) {
-            Player player = Bukkit.getPlayer(uuid);
-            if (player != null && player.isOnline()) {
-                player.sendMessage(message);
-            }
+        for (Player player : onlinePlayers) {
+            player.sendMessage(message);
         }
     }
 
+    /**
+     * Cópia da lista de jogadores, para usos pontuais; laços frequentes usam {@link #forEachPlayer}
+     */
     public List<Player> getOnlinePlayers() {
-        List<Player> online = new ArrayList<>();
-        for (UUID uuid : players) {
-            Player player = Bukkit.getPlayer(uuid);
-            if (player != null && player.isOnline()) {
-                online.add(player);
-            }
-        }
-        return online;
+        return List.of(onlinePlayers);
     }
 
     public enum SessionState {
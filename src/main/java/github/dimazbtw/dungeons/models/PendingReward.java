@@ -67,6 +67,14 @@ public class PendingReward {
         this.command = command;
     }
 
+    // Construtor usado ao restaurar do disco (mantém id e timestamp originais)
+    public PendingReward(String id, RewardType type, String dungeonId, long timestamp) {
+        this.id = id;
+        this.type = type;
+        this.dungeonId = dungeonId;
+        this.timestamp = timestamp;
+    }
+
     public static PendingReward createCommandReward(String dungeonId, String command) {
         PendingReward reward = new PendingReward(dungeonId, RewardType.COMMAND);
         reward.command = command;
@@ -113,6 +121,8 @@ public class PendingReward {
 
     public void setExperience(int experience) { this.experience = experience; }
     public void setPoints(int points) { this.points = points; }
+    public void setCommand(String command) { this.command = command; }
+    public void setItem(ItemStack item) { this.item = item; }
 
     public enum RewardType {
         COMMAND,
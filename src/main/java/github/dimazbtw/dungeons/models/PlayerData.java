@@ -3,6 +3,7 @@ package github.dimazbtw.dungeons.models;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public class PlayerData {
 
@@ -28,6 +29,15 @@ public class PlayerData {
     private int level;
     private int experience;
 
+    // Marcado em cada alteração; o PlayerDataManager só persiste dados sujos
+    private boolean dirty;
+
+    // O registro salvo existe mas não pôde ser lido: estes dados nunca são gravados
+    private boolean unreadable;
+
+    // Notificado quando um valor usado nos rankings muda
+    private Consumer<PlayerData> rankingListener;
+
     // Constantes
     public static final double MAX_AGILITY = 3.0;
     public static final double AGILITY_PER_POINT = 0.5;
@@ -52,6 +62,49 @@ public class PlayerData {
         this.experience = 0;
     }
 
+    // ============ DIRTY TRACKING ============
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    /**
+     * Dados provisórios de um jogador cujo registro salvo não pôde ser lido.
+     * Nunca são persistidos, para não sobrescrever o registro real.
+     */
+    public boolean isUnreadable() {
+        return unreadable;
+    }
+
+    public void markUnreadable() {
+        this.unreadable = true;
+    }
+
+    public void setRankingListener(Consumer<PlayerData> rankingListener) {
+        this.rankingListener = rankingListener;
+    }
+
+    private void rankingChanged() {
+        if (rankingListener != null) {
+            rankingListener.accept(this);
+        }
+    }
+
+    /**
+     * Cria uma cópia imutável para ser persistida fora da thread principal
+     */
+    public PlayerDataSnapshot snapshot() {
+        return new PlayerDataSnapshot(this);
+    }
+
     // Getters and Setters
     public UUID getUuid() {
         return uuid;
@@ -63,10 +116,14 @@ public class PlayerData {
 
     public void setDungeonsCompleted(int dungeonsCompleted) {
         this.dungeonsCompleted = dungeonsCompleted;
+        markDirty();
+        rankingChanged();
     }
 
     public void incrementDungeonsCompleted() {
         this.dungeonsCompleted++;
+        markDirty();
+        rankingChanged();
     }
 
     public int getDungeonsFailed() {
@@ -75,10 +132,12 @@ public class PlayerData {
 
     public void setDungeonsFailed(int dungeonsFailed) {
         this.dungeonsFailed = dungeonsFailed;
+        markDirty();
     }
 
     public void incrementDungeonsFailed() {
         this.dungeonsFailed++;
+        markDirty();
     }
 
     public int getMobsKilled() {
@@ -87,14 +146,20 @@ public class PlayerData {
 
     public void setMobsKilled(int mobsKilled) {
         this.mobsKilled = mobsKilled;
+        markDirty();
+        rankingChanged();
     }
 
     public void incrementMobsKilled() {
         this.mobsKilled++;
+        markDirty();
+        rankingChanged();
     }
 
     public void addMobsKilled(int amount) {
         this.mobsKilled += amount;
+        markDirty();
+        rankingChanged();
     }
 
     public int getBossesKilled() {
@@ -103,10 +168,14 @@ public class PlayerData {
 
     public void setBossesKilled(int bossesKilled) {
         this.bossesKilled = bossesKilled;
+        markDirty();
+        rankingChanged();
     }
 
     public void incrementBossesKilled() {
         this.bossesKilled++;
+        markDirty();
+        rankingChanged();
     }
 
     public int getDeaths() {
@@ -115,10 +184,12 @@ public class PlayerData {
 
     public void setDeaths(int deaths) {
         this.deaths = deaths;
+        markDirty();
     }
 
     public void incrementDeaths() {
         this.deaths++;
+        markDirty();
     }
 
     public long getTotalPlayTime() {
@@ -127,10 +198,12 @@ public class PlayerData {
 
     public void setTotalPlayTime(long totalPlayTime) {
         this.totalPlayTime = totalPlayTime;
+        markDirty();
     }
 
     public void addPlayTime(long time) {
         this.totalPlayTime += time;
+        markDirty();
     }
 
     public String getFormattedPlayTime() {
@@ -146,6 +219,7 @@ public class PlayerData {
     public void setHighestRound(int highestRound) {
         if (highestRound > this.highestRound) {
             this.highestRound = highestRound;
+            markDirty();
         }
     }
 
@@ -155,15 +229,21 @@ public class PlayerData {
 
     public void setPoints(int points) {
         this.points = points;
+        markDirty();
+        rankingChanged();
     }
 
     public void addPoints(int amount) {
         this.points += amount;
+        markDirty();
+        rankingChanged();
     }
 
     public boolean removePoints(int amount) {
         if (this.points >= amount) {
             this.points -= amount;
+            markDirty();
+            rankingChanged();
             return true;
         }
         return false;
@@ -175,6 +255,7 @@ public class PlayerData {
 
     public void setWeaponEnchants(Map<String, Integer> weaponEnchants) {
         this.weaponEnchants = weaponEnchants;
+        markDirty();
     }
 
     public int getEnchantLevel(String enchant) {
@@ -183,6 +264,7 @@ public class PlayerData {
 
     public void setEnchantLevel(String enchant, int level) {
         weaponEnchants.put(enchant, level);
+        markDirty();
     }
 
     // ============ STATS/PERKS ============
@@ -193,6 +275,7 @@ public class PlayerData {
 
     public void setVitality(int vitality) {
         this.vitality = vitality;
+        markDirty();
     }
 
     /**
@@ -208,6 +291,7 @@ public class PlayerData {
 
     public void setStrength(int strength) {
         this.strength = strength;
+        markDirty();
     }
 
     /**
@@ -223,6 +307,7 @@ public class PlayerData {
 
     public void setAgility(double agility) {
         this.agility = Math.min(agility, MAX_AGILITY);
+        markDirty();
     }
 
     /**
@@ -239,10 +324,12 @@ public class PlayerData {
 
     public void setPerkPoints(int perkPoints) {
         this.perkPoints = perkPoints;
+        markDirty();
     }
 
     public void addPerkPoints(int amount) {
         this.perkPoints += amount;
+        markDirty();
     }
 
     /**
@@ -252,6 +339,7 @@ public class PlayerData {
         if (perkPoints <= 0) return false;
         perkPoints--;
         vitality++;
+        markDirty();
         return true;
     }
 
@@ -262,6 +350,7 @@ public class PlayerData {
         if (perkPoints <= 0) return false;
         perkPoints--;
         strength++;
+        markDirty();
         return true;
     }
 
@@ -274,6 +363,7 @@ public class PlayerData {
         perkPoints--;
         agility += AGILITY_PER_POINT;
         agility = Math.min(agility, MAX_AGILITY);
+        markDirty();
         return true;
     }
 
@@ -292,6 +382,8 @@ public class PlayerData {
 
     public void setLevel(int level) {
         this.level = level;
+        markDirty();
+        rankingChanged();
     }
 
     public int getExperience() {
@@ -300,6 +392,7 @@ public class PlayerData {
 
     public void setExperience(int experience) {
         this.experience = experience;
+        markDirty();
     }
 
     /**
@@ -308,7 +401,13 @@ public class PlayerData {
      */
     public int addExperience(int amount) {
         this.experience += amount;
-        return checkLevelUp();
+        markDirty();
+
+        int levelsGained = checkLevelUp();
+        if (levelsGained > 0) {
+            rankingChanged();
+        }
+        return levelsGained;
     }
 
     /**
@@ -0,0 +1,138 @@
+package github.dimazbtw.dungeons.models;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Cópia imutável de um PlayerData, capturada na thread principal
+ * e entregue às threads de I/O para persistência
+ */
+public final class PlayerDataSnapshot {
+
+    private final UUID uuid;
+    private final int dungeonsCompleted;
+    private final int dungeonsFailed;
+    private final int mobsKilled;
+    private final int bossesKilled;
+    private final int deaths;
+    private final long totalPlayTime;
+    private final int highestRound;
+    private final int points;
+    private final Map<String, Integer> weaponEnchants;
+    private final int vitality;
+    private final int strength;
+    private final double agility;
+    private final int perkPoints;
+    private final int level;
+    private final int experience;
+
+    public PlayerDataSnapshot(PlayerData data) {
+        this.uuid = data.getUuid();
+        this.dungeonsCompleted = data.getDungeonsCompleted();
+        this.dungeonsFailed = data.getDungeonsFailed();
+        this.mobsKilled = data.getMobsKilled();
+        this.bossesKilled = data.getBossesKilled();
+        this.deaths = data.getDeaths();
+        this.totalPlayTime = data.getTotalPlayTime();
+        this.highestRound = data.getHighestRound();
+        this.points = data.getPoints();
+        this.weaponEnchants = Collections.unmodifiableMap(new HashMap<>(data.getWeaponEnchants()));
+        this.vitality = data.getVitality();
+        this.strength = data.getStrength();
+        this.agility = data.getAgility();
+        this.perkPoints = data.getPerkPoints();
+        this.level = data.getLevel();
+        this.experience = data.getExperience();
+    }
+
+    /**
+     * Reconstrói um PlayerData a partir do snapshot (usado quando o
+     * jogador volta antes da escrita pendente terminar)
+     */
+    public PlayerData toPlayerData() {
+        PlayerData data = new PlayerData(uuid);
+        data.setDungeonsCompleted(dungeonsCompleted);
+        data.setDungeonsFailed(dungeonsFailed);
+        data.setMobsKilled(mobsKilled);
+        data.setBossesKilled(bossesKilled);
+        data.setDeaths(deaths);
+        data.setTotalPlayTime(totalPlayTime);
+        data.setHighestRound(highestRound);
+        data.setPoints(points);
+        data.setWeaponEnchants(new HashMap<>(weaponEnchants));
+        data.setVitality(vitality);
+        data.setStrength(strength);
+        data.setAgility(agility);
+        data.setPerkPoints(perkPoints);
+        data.setLevel(level);
+        data.setExperience(experience);
+        data.clearDirty();
+        return data;
+    }
+
+    public UUID getUuid() {
+        return uuid;
+    }
+
+    public int getDungeonsCompleted() {
+        return dungeonsCompleted;
+    }
+
+    public int getDungeonsFailed() {
+        return dungeonsFailed;
+    }
+
+    public int getMobsKilled() {
+        return mobsKilled;
+    }
+
+    public int getBossesKilled() {
+        return bossesKilled;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public long getTotalPlayTime() {
+        return totalPlayTime;
+    }
+
+    public int getHighestRound() {
+        return highestRound;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public Map<String, Integer> getWeaponEnchants() {
+        return weaponEnchants;
+    }
+
+    public int getVitality() {
+        return vitality;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public double getAgility() {
+        return agility;
+    }
+
+    public int getPerkPoints() {
+        return perkPoints;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getExperience() {
+        return experience;
+    }
+}
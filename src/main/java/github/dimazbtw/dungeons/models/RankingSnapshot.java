@@ -0,0 +1,48 @@
+package github.dimazbtw.dungeons.models;
+
+import github.dimazbtw.dungeons.managers.RankingManager.RankingEntry;
+import github.dimazbtw.dungeons.managers.RankingManager.RankingType;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top de cada ranking montado fora da thread principal.
+ * Imutável: os leitores recebem sempre um snapshot completo.
+ */
+public final class RankingSnapshot {
+
+    private final Map<RankingType, List<RankingEntry>> top;
+    private final long createdAt;
+
+    public RankingSnapshot(Map<RankingType, List<RankingEntry>> top, long createdAt) {
+        Map<RankingType, List<RankingEntry>> copy = new EnumMap<>(RankingType.class);
+        for (RankingType type : RankingType.values()) {
+            copy.put(type, List.copyOf(top.getOrDefault(type, Collections.emptyList())));
+        }
+        this.top = Collections.unmodifiableMap(copy);
+        this.createdAt = createdAt;
+    }
+
+    public static RankingSnapshot empty() {
+        return new RankingSnapshot(Collections.emptyMap(), 0L);
+    }
+
+    public List<RankingEntry> getTop(RankingType type, int limit) {
+        List<RankingEntry> entries = top.get(type);
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Idade em milissegundos (-1 se ainda não foi montado nenhum snapshot)
+     */
+    public long getAgeMillis() {
+        return createdAt == 0L ? -1L : System.currentTimeMillis() - createdAt;
+    }
+}
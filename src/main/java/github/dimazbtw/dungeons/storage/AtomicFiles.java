@@ -0,0 +1,57 @@
+package github.dimazbtw.dungeons.storage;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Escrita de arquivos à prova de crash: grava em um .tmp, faz fsync e troca
+ * com rename atômico. A versão anterior é mantida como .bak para recuperação.
+ */
+public final class AtomicFiles {
+
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+
+    private AtomicFiles() {
+    }
+
+    public static void write(File target, byte[] data) throws IOException {
+        File temp = new File(target.getParentFile(), target.getName() + TEMP_SUFFIX);
+
+        try (FileOutputStream out = new FileOutputStream(temp)) {
+            out.write(data);
+            out.getFD().sync();
+        }
+
+        // Guarda a geração anterior sem deixar o alvo ausente em nenhum momento
+        if (target.exists()) {
+            File backup = backupOf(target);
+            Files.deleteIfExists(backup.toPath());
+            try {
+                Files.createLink(backup.toPath(), target.toPath());
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(target.toPath(), backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Arquivo com a geração anterior de {@code target}
+     */
+    public static File backupOf(File target) {
+        return new File(target.getParentFile(), target.getName() + BACKUP_SUFFIX);
+    }
+
+    /**
+     * Remove o arquivo e sua geração anterior
+     */
+    public static void delete(File target) throws IOException {
+        Files.deleteIfExists(target.toPath());
+        Files.deleteIfExists(backupOf(target).toPath());
+    }
+}
@@ -0,0 +1,104 @@
+package github.dimazbtw.dungeons.storage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Cache LRU limitado por quantidade de entradas e por tempo sem acesso.
+ * Entradas removidas (por tamanho ou expiração) são entregues ao callback de evicção.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Consumer<V> onEvict;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    public BoundedCache(int maxSize, long ttlMillis, Consumer<V> onEvict) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.onEvict = onEvict;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) return null;
+
+        long now = System.currentTimeMillis();
+        if (now - entry.lastAccess > ttlMillis) {
+            entries.remove(key);
+            onEvict.accept(entry.value);
+            return null;
+        }
+
+        entry.lastAccess = now;
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        if (maxSize <= 0) {
+            onEvict.accept(value);
+            return;
+        }
+
+        entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+
+        // Remove os menos usados recentemente
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            Entry<V> eldest = iterator.next();
+            iterator.remove();
+            onEvict.accept(eldest.value);
+        }
+    }
+
+    public synchronized V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * Remove as entradas que passaram do tempo limite
+     */
+    public synchronized int evictExpired() {
+        long now = System.currentTimeMillis();
+        int evicted = 0;
+
+        // Ordem de acesso: as mais antigas vêm primeiro
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            if (now - entry.lastAccess <= ttlMillis) break;
+            iterator.remove();
+            onEvict.accept(entry.value);
+            evicted++;
+        }
+        return evicted;
+    }
+
+    public synchronized List<V> values() {
+        List<V> values = new ArrayList<>(entries.size());
+        for (Entry<V> entry : entries.values()) {
+            values.add(entry.value);
+        }
+        return values;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private long lastAccess;
+
+        private Entry(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
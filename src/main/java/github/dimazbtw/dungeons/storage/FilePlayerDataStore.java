@@ -0,0 +1,363 @@
+package github.dimazbtw.dungeons.storage;
+
+import github.dimazbtw.dungeons.managers.RankingManager.RankingType;
+import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.models.PlayerDataSnapshot;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+/**
+ * Um arquivo por jogador em playerdata/: binário (.dat) ou YAML (.yml, formato antigo)
+ */
+public class FilePlayerDataStore implements PlayerDataStore {
+
+    private static final String BINARY_EXTENSION = ".dat";
+    private static final String YAML_EXTENSION = ".yml";
+
+    private final File dataFolder;
+    private final Logger logger;
+
+    public FilePlayerDataStore(File dataFolder, Logger logger) {
+        this.dataFolder = dataFolder;
+        this.logger = logger;
+
+        if (!dataFolder.exists()) {
+            dataFolder.mkdirs();
+        }
+    }
+
+    /**
+     * Carrega os dados do jogador; null só quando não há registro salvo.
+     * Um registro ilegível lança IOException e fica no lugar (com uma cópia .corrupt)
+     * para não ser sobrescrito por dados novos.
+     */
+    @Override
+    public PlayerData load(UUID uuid) throws IOException {
+        // Formato binário primeiro; YAML para jogadores ainda não migrados
+        File binaryFile = new File(dataFolder, uuid + BINARY_EXTENSION);
+        if (binaryFile.exists()) {
+            try {
+                return PlayerDataCodec.decode(uuid, Files.readAllBytes(binaryFile.toPath()));
+            } catch (IOException e) {
+                logger.severe("Corrupted player data for " + uuid + ": " + e.getMessage());
+                keepCorruptCopy(binaryFile);
+            }
+
+            // Recupera a geração anterior
+            File backup = AtomicFiles.backupOf(binaryFile);
+            if (backup.exists()) {
+                try {
+                    PlayerData data = PlayerDataCodec.decode(uuid, Files.readAllBytes(backup.toPath()));
+                    logger.warning("Recovered player data for " + uuid + " from the previous save");
+                    data.markDirty();
+                    return data;
+                } catch (IOException e) {
+                    logger.severe("Previous save of " + uuid + " is also unreadable: " + e.getMessage());
+                }
+            }
+            throw new IOException("Player data file " + binaryFile.getName() + " is unreadable");
+        }
+
+        File yamlFile = new File(dataFolder, uuid + YAML_EXTENSION);
+        if (!yamlFile.exists()) {
+            return null;
+        }
+
+        try {
+            return readYaml(uuid, yamlFile);
+        } catch (IOException | InvalidConfigurationException e) {
+            logger.severe("Corrupted player data for " + uuid + ": " + e.getMessage());
+            keepCorruptCopy(yamlFile);
+            throw new IOException("Player data file " + yamlFile.getName() + " is unreadable", e);
+        }
+    }
+
+    // Cópia para recuperação manual; o original continua no lugar
+    private void keepCorruptCopy(File file) {
+        try {
+            Files.copy(file.toPath(), new File(dataFolder, file.getName() + ".corrupt").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warning("Failed to copy " + file.getName() + " for recovery: " + e.getMessage());
+        }
+    }
+
+    private PlayerData readYaml(UUID uuid, File file) throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(file);
+        PlayerData data = new PlayerData(uuid);
+
+        data.setDungeonsCompleted(config.getInt("dungeons-completed", 0));
+        data.setDungeonsFailed(config.getInt("dungeons-failed", 0));
+        data.setMobsKilled(config.getInt("mobs-killed", 0));
+        data.setBossesKilled(config.getInt("bosses-killed", 0));
+        data.setDeaths(config.getInt("deaths", 0));
+        data.setTotalPlayTime(config.getLong("total-playtime", 0));
+        data.setHighestRound(config.getInt("highest-round", 0));
+        data.setPoints(config.getInt("points", 0));
+
+        // Stats/Perks
+        data.setVitality(config.getInt("stats.vitality", 0));
+        data.setStrength(config.getInt("stats.strength", 0));
+        data.setAgility(config.getDouble("stats.agility", 0));
+        data.setPerkPoints(config.getInt("stats.perk-points", 0));
+        data.setLevel(config.getInt("stats.level", 1));
+        data.setExperience(config.getInt("stats.experience", 0));
+
+        // Load enchant levels
+        if (config.isConfigurationSection("enchants")) {
+            for (String key : config.getConfigurationSection("enchants").getKeys(false)) {
+                data.setEnchantLevel(key, config.getInt("enchants." + key, 0));
+            }
+        }
+
+        data.clearDirty();
+        return data;
+    }
+
+    @Override
+    public void saveBatch(Collection<PlayerDataSnapshot> batch) throws IOException {
+        IOException failure = null;
+        for (PlayerDataSnapshot snapshot : batch) {
+            try {
+                write(snapshot);
+            } catch (IOException e) {
+                logger.severe("Failed to save player data for " + snapshot.getUuid());
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void write(PlayerDataSnapshot data) throws IOException {
+        File file = new File(dataFolder, data.getUuid() + BINARY_EXTENSION);
+        AtomicFiles.write(file, PlayerDataCodec.encode(data));
+
+        // O arquivo YAML antigo ficou obsoleto
+        Files.deleteIfExists(new File(dataFolder, data.getUuid() + YAML_EXTENSION).toPath());
+    }
+
+    @Override
+    public int count() {
+        return listStoredPlayers().size();
+    }
+
+    @Override
+    public void forEach(Consumer<PlayerData> consumer) {
+        for (UUID uuid : listStoredPlayers()) {
+            PlayerData data;
+            try {
+                data = load(uuid);
+            } catch (IOException e) {
+                // Já registrado em load(); o arquivo fica para recuperação manual
+                continue;
+            }
+            if (data != null) {
+                consumer.accept(data);
+            }
+        }
+    }
+
+    @Override
+    public List<PlayerData> top(RankingType type, int limit) {
+        return topAll(limit).get(type);
+    }
+
+    /**
+     * Uma única varredura do diretório alimentando um heap limitado por ranking
+     */
+    @Override
+    public Map<RankingType, List<PlayerData>> topAll(int limit) {
+        Map<RankingType, PriorityQueue<PlayerData>> heaps = new EnumMap<>(RankingType.class);
+        for (RankingType type : RankingType.values()) {
+            heaps.put(type, new PriorityQueue<>(Comparator.comparingInt(type::getValue)));
+        }
+
+        forEach(data -> {
+            for (Map.Entry<RankingType, PriorityQueue<PlayerData>> entry : heaps.entrySet()) {
+                PriorityQueue<PlayerData> heap = entry.getValue();
+                heap.offer(data);
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+        });
+
+        Map<RankingType, List<PlayerData>> result = new EnumMap<>(RankingType.class);
+        for (Map.Entry<RankingType, PriorityQueue<PlayerData>> entry : heaps.entrySet()) {
+            RankingType type = entry.getKey();
+            List<PlayerData> sorted = new ArrayList<>(entry.getValue());
+            sorted.sort((a, b) -> Integer.compare(type.getValue(b), type.getValue(a)));
+            result.put(entry.getKey(), sorted);
+        }
+        return result;
+    }
+
+    private Set<UUID> listStoredPlayers() {
+        Set<UUID> players = new HashSet<>();
+        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(BINARY_EXTENSION) || name.endsWith(YAML_EXTENSION));
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                try {
+                    players.add(UUID.fromString(name.substring(0, name.lastIndexOf('.'))));
+                } catch (IllegalArgumentException ignored) {
+                    // Nome de arquivo inválido
+                }
+            }
+        }
+        return players;
+    }
+
+    @Override
+    public String getName() {
+        return "FILE";
+    }
+
+    @Override
+    public void close() {
+    }
+
+    // ============ MIGRAÇÃO YAML -> BINÁRIO ============
+
+    /**
+     * Converte todos os arquivos YAML para o formato binário usando um ForkJoinPool.
+     * Jogadores aceitos por {@code skip} são ignorados (serão gravados pelo próprio save).
+     */
+    public MigrationResult migrateYamlFiles(int threads, Predicate<UUID> skip) {
+        File[] files = dataFolder.listFiles((dir, name) -> name.endsWith(YAML_EXTENSION));
+        if (files == null || files.length == 0) {
+            return new MigrationResult(0, 0, 0, 0);
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            int[] counts = pool.invoke(new MigrationTask(files, 0, files.length, skip));
+            long elapsed = (System.nanoTime() - start) / 1_000_000L;
+            return new MigrationResult(counts[0], counts[1], counts[2], elapsed);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Migra um único arquivo. Retorna 0 = migrado, 1 = ignorado, 2 = falhou
+     */
+    private int migrateFile(File yamlFile, Predicate<UUID> skip) {
+        String name = yamlFile.getName();
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(name.substring(0, name.length() - YAML_EXTENSION.length()));
+        } catch (IllegalArgumentException e) {
+            return 1;
+        }
+
+        if (skip.test(uuid)) {
+            return 1;
+        }
+
+        File binaryFile = new File(dataFolder, uuid + BINARY_EXTENSION);
+        File temp = new File(dataFolder, uuid + BINARY_EXTENSION + ".migrate");
+        try {
+            PlayerData data = readYaml(uuid, yamlFile);
+            Files.write(temp.toPath(), PlayerDataCodec.encode(data.snapshot()));
+            // Sem REPLACE_EXISTING: um .dat gravado pelo save é sempre mais recente
+            Files.move(temp.toPath(), binaryFile.toPath());
+            Files.delete(yamlFile.toPath());
+            return 0;
+        } catch (FileAlreadyExistsException e) {
+            temp.delete();
+            yamlFile.delete();
+            return 1;
+        } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+            temp.delete();
+            logger.warning("Failed to migrate " + name + ": " + e.getMessage());
+            return 2;
+        }
+    }
+
+    private class MigrationTask extends RecursiveTask<int[]> {
+
+        private static final int THRESHOLD = 64;
+
+        private final File[] files;
+        private final int from;
+        private final int to;
+        private final Predicate<UUID> skip;
+
+        MigrationTask(File[] files, int from, int to, Predicate<UUID> skip) {
+            this.files = files;
+            this.from = from;
+            this.to = to;
+            this.skip = skip;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= THRESHOLD) {
+                int[] counts = new int[3];
+                for (int i = from; i < to; i++) {
+                    counts[migrateFile(files[i], skip)]++;
+                }
+                return counts;
+            }
+
+            int middle = (from + to) >>> 1;
+            MigrationTask left = new MigrationTask(files, from, middle, skip);
+            left.fork();
+            int[] right = new MigrationTask(files, middle, to, skip).compute();
+            int[] counts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += right[i];
+            }
+            return counts;
+        }
+    }
+
+    public static class MigrationResult {
+        private final int migrated;
+        private final int skipped;
+        private final int failed;
+        private final long elapsedMillis;
+
+        public MigrationResult(int migrated, int skipped, int failed, long elapsedMillis) {
+            this.migrated = migrated;
+            this.skipped = skipped;
+            this.failed = failed;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getMigrated() { return migrated; }
+        public int getSkipped() { return skipped; }
+        public int getFailed() { return failed; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getFilesPerSecond() {
+            return elapsedMillis == 0 ? migrated : migrated * 1000.0 / elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package github.dimazbtw.dungeons.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ranking ordenado de um critério: skip list indexada (cada link guarda quantas
+ * posições pula), ordenada por pontuação decrescente e UUID nos empates.
+ * Atualização, posição exata e busca por posição em O(log n).
+ */
+public class Leaderboard {
+
+    private static final int MAX_LEVEL = 32;
+    private static final double LEVEL_PROBABILITY = 0.25;
+
+    private final Node head;
+    private final Map<UUID, Node> nodes;
+    private int level;
+    private int size;
+
+    public Leaderboard() {
+        this.head = new Node(null, 0, MAX_LEVEL);
+        this.nodes = new HashMap<>();
+        this.level = 1;
+    }
+
+    /**
+     * Monta o ranking de uma vez a partir de pares (uuid, pontuação), em O(n log n)
+     */
+    public synchronized void load(UUID[] players, int[] scores) {
+        clear();
+
+        Node[] sorted = new Node[players.length];
+        for (int i = 0; i < players.length; i++) {
+            sorted[i] = new Node(players[i], scores[i], randomLevel());
+        }
+        Arrays.sort(sorted, (a, b) -> compare(a.score, a.uuid, b.score, b.uuid));
+
+        // Liga os nós em ordem, guardando o último nó de cada nível
+        Node[] last = new Node[MAX_LEVEL];
+        int[] lastRank = new int[MAX_LEVEL];
+        Arrays.fill(last, head);
+
+        for (int position = 1; position <= sorted.length; position++) {
+            Node node = sorted[position - 1];
+            for (int i = 0; i < node.next.length; i++) {
+                last[i].next[i] = node;
+                last[i].span[i] = position - lastRank[i];
+                last[i] = node;
+                lastRank[i] = position;
+            }
+            level = Math.max(level, node.next.length);
+            nodes.put(node.uuid, node);
+        }
+
+        size = sorted.length;
+        for (int i = 0; i < level; i++) {
+            last[i].span[i] = size - lastRank[i];
+        }
+    }
+
+    /**
+     * Define a pontuação de um jogador (insere se não existir)
+     */
+    public synchronized void update(UUID uuid, int score) {
+        Node existing = nodes.get(uuid);
+        if (existing != null) {
+            if (existing.score == score) return;
+            delete(existing);
+        }
+        nodes.put(uuid, insert(uuid, score));
+    }
+
+    public synchronized void remove(UUID uuid) {
+        Node node = nodes.remove(uuid);
+        if (node != null) {
+            delete(node);
+        }
+    }
+
+    /**
+     * Posição exata (1 = primeiro) ou -1 se o jogador não está no ranking
+     */
+    public synchronized int getRank(UUID uuid) {
+        Node target = nodes.get(uuid);
+        if (target == null) return -1;
+
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i].score, x.next[i].uuid, target.score, target.uuid) <= 0) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            if (x == target) return rank;
+        }
+        return -1;
+    }
+
+    /**
+     * Pontuação do jogador ou 0 se não estiver no ranking
+     */
+    public synchronized int getScore(UUID uuid) {
+        Node node = nodes.get(uuid);
+        return node != null ? node.score : 0;
+    }
+
+    public synchronized boolean contains(UUID uuid) {
+        return nodes.containsKey(uuid);
+    }
+
+    /**
+     * Jogadores a partir da posição {@code offset} (0 = primeiro), no máximo {@code limit}
+     */
+    public synchronized List<UUID> getPage(int offset, int limit) {
+        List<UUID> page = new ArrayList<>(Math.max(0, Math.min(limit, size - offset)));
+        if (offset < 0 || offset >= size || limit <= 0) return page;
+
+        // Desce até o nó na posição offset + 1 usando os spans
+        int rank = offset + 1;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= rank) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == rank) break;
+        }
+
+        while (x != null && page.size() < limit) {
+            page.add(x.uuid);
+            x = x.next[0];
+        }
+        return page;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(head.next, null);
+        Arrays.fill(head.span, 0);
+        nodes.clear();
+        level = 1;
+        size = 0;
+    }
+
+    private Node insert(UUID uuid, int score) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && compare(x.next[i].score, x.next[i].uuid, score, uuid) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int nodeLevel = randomLevel();
+        if (nodeLevel > level) {
+            for (int i = level; i < nodeLevel; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = nodeLevel;
+        }
+
+        Node node = new Node(uuid, score, nodeLevel);
+        for (int i = 0; i < nodeLevel; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+
+        // Níveis acima do novo nó passam por cima dele
+        for (int i = nodeLevel; i < level; i++) {
+            update[i].span[i]++;
+        }
+
+        size++;
+        return node;
+    }
+
+    private void delete(Node node) {
+        Node[] update = new Node[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && compare(x.next[i].score, x.next[i].uuid, node.score, node.uuid) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == node) {
+                update[i].span[i] += node.span[i] - 1;
+                update[i].next[i] = node.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+
+        while (level > 1 && head.next[level - 1] == null) {
+            level--;
+        }
+        size--;
+    }
+
+    // Pontuação maior primeiro; empate desfeito pelo UUID para a ordem ser estável
+    private static int compare(int scoreA, UUID uuidA, int scoreB, UUID uuidB) {
+        if (scoreA != scoreB) {
+            return scoreA > scoreB ? -1 : 1;
+        }
+        return uuidA.compareTo(uuidB);
+    }
+
+    private static int randomLevel() {
+        int level = 1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (level < MAX_LEVEL && random.nextDouble() < LEVEL_PROBABILITY) {
+            level++;
+        }
+        return level;
+    }
+
+    private static final class Node {
+        private final UUID uuid;
+        private final int score;
+        private final Node[] next;
+        private final int[] span;
+
+        private Node(UUID uuid, int score, int level) {
+            this.uuid = uuid;
+            this.score = score;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package github.dimazbtw.dungeons.storage;
+
+import github.dimazbtw.dungeons.models.PendingReward;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.util.io.BukkitObjectInputStream;
+import org.bukkit.util.io.BukkitObjectOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Serialização binária de PendingReward para o journal de recompensas
+ */
+public final class PendingRewardCodec {
+
+    private PendingRewardCodec() {
+    }
+
+    public static byte[] encode(PendingReward reward) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeUTF(reward.getId());
+        out.writeUTF(reward.getType().name());
+        out.writeUTF(reward.getDungeonId() != null ? reward.getDungeonId() : "unknown");
+        out.writeLong(reward.getTimestamp());
+
+        switch (reward.getType()) {
+            case COMMAND -> {
+                out.writeUTF(reward.getCommand() != null ? reward.getCommand() : "");
+                writeNullable(out, reward.getDisplayName());
+                writeNullable(out, reward.getDisplayMaterial() != null ? reward.getDisplayMaterial().name() : null);
+                writeNullable(out, reward.getDescription());
+            }
+            case ITEM -> {
+                byte[] item = encodeItem(reward.getItem());
+                out.writeInt(item.length);
+                out.write(item);
+            }
+            case EXPERIENCE -> out.writeInt(reward.getExperience());
+            case POINTS -> out.writeInt(reward.getPoints());
+        }
+
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    public static PendingReward decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+
+        String id = in.readUTF();
+        PendingReward.RewardType type = PendingReward.RewardType.valueOf(in.readUTF());
+        String dungeonId = in.readUTF();
+        long timestamp = in.readLong();
+
+        PendingReward reward = new PendingReward(id, type, dungeonId, timestamp);
+        switch (type) {
+            case COMMAND -> {
+                reward.setCommand(in.readUTF());
+                reward.setDisplayName(readNullable(in));
+                String material = readNullable(in);
+                if (material != null) {
+                    reward.setDisplayMaterial(Material.matchMaterial(material));
+                }
+                reward.setDescription(readNullable(in));
+            }
+            case ITEM -> {
+                byte[] item = new byte[in.readInt()];
+                in.readFully(item);
+                reward.setItem(decodeItem(item));
+            }
+            case EXPERIENCE -> reward.setExperience(in.readInt());
+            case POINTS -> reward.setPoints(in.readInt());
+        }
+
+        return reward;
+    }
+
+    private static byte[] encodeItem(ItemStack item) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BukkitObjectOutputStream out = new BukkitObjectOutputStream(bytes)) {
+            out.writeObject(item);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static ItemStack decodeItem(byte[] data) throws IOException {
+        try (BukkitObjectInputStream in = new BukkitObjectInputStream(new ByteArrayInputStream(data))) {
+            return (ItemStack) in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Invalid item data", e);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,131 @@
+package github.dimazbtw.dungeons.storage;
+
+import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.models.PlayerDataSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binário versionado de PlayerData (playerdata/&lt;uuid&gt;.dat)
+ *
+ * <pre>
+ * int    magic ("DGPD")
+ * short  versão
+ * long   uuid (msb, lsb)
+ * int    dungeonsCompleted, dungeonsFailed, mobsKilled, bossesKilled, deaths
+ * long   totalPlayTime
+ * int    highestRound, points, vitality, strength
+ * double agility
+ * int    perkPoints, level, experience
+ * short  quantidade de encantamentos, seguida de [utf chave, int nível]
+ * int    CRC32 de todos os bytes anteriores
+ * </pre>
+ */
+public final class PlayerDataCodec {
+
+    public static final int MAGIC = 0x44475044;
+    public static final short VERSION = 1;
+
+    private PlayerDataCodec() {
+    }
+
+    public static byte[] encode(PlayerDataSnapshot data) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96 + data.getWeaponEnchants().size() * 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(data.getUuid().getMostSignificantBits());
+        out.writeLong(data.getUuid().getLeastSignificantBits());
+
+        out.writeInt(data.getDungeonsCompleted());
+        out.writeInt(data.getDungeonsFailed());
+        out.writeInt(data.getMobsKilled());
+        out.writeInt(data.getBossesKilled());
+        out.writeInt(data.getDeaths());
+        out.writeLong(data.getTotalPlayTime());
+        out.writeInt(data.getHighestRound());
+        out.writeInt(data.getPoints());
+        out.writeInt(data.getVitality());
+        out.writeInt(data.getStrength());
+        out.writeDouble(data.getAgility());
+        out.writeInt(data.getPerkPoints());
+        out.writeInt(data.getLevel());
+        out.writeInt(data.getExperience());
+
+        Map<String, Integer> enchants = data.getWeaponEnchants();
+        out.writeShort(enchants.size());
+        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    public static PlayerData decode(UUID uuid, byte[] bytes) throws IOException {
+        if (bytes.length < 4) {
+            throw new IOException("Player data file too short");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        int expected = ((bytes[bytes.length - 4] & 0xFF) << 24) | ((bytes[bytes.length - 3] & 0xFF) << 16)
+                | ((bytes[bytes.length - 2] & 0xFF) << 8) | (bytes[bytes.length - 1] & 0xFF);
+        if ((int) crc.getValue() != expected) {
+            throw new IOException("Checksum mismatch in player data of " + uuid);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a player data file");
+        }
+
+        short version = in.readShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported player data version " + version);
+        }
+
+        UUID stored = new UUID(in.readLong(), in.readLong());
+        if (!stored.equals(uuid)) {
+            throw new IOException("Player data belongs to " + stored + ", expected " + uuid);
+        }
+
+        PlayerData data = new PlayerData(uuid);
+        data.setDungeonsCompleted(in.readInt());
+        data.setDungeonsFailed(in.readInt());
+        data.setMobsKilled(in.readInt());
+        data.setBossesKilled(in.readInt());
+        data.setDeaths(in.readInt());
+        data.setTotalPlayTime(in.readLong());
+        data.setHighestRound(in.readInt());
+        data.setPoints(in.readInt());
+        data.setVitality(in.readInt());
+        data.setStrength(in.readInt());
+        data.setAgility(in.readDouble());
+        data.setPerkPoints(in.readInt());
+        data.setLevel(in.readInt());
+        data.setExperience(in.readInt());
+
+        int enchantCount = in.readUnsignedShort();
+        for (int i = 0; i < enchantCount; i++) {
+            data.setEnchantLevel(in.readUTF(), in.readInt());
+        }
+
+        data.clearDirty();
+        return data;
+    }
+}
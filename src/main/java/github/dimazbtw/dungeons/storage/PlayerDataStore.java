@@ -0,0 +1,62 @@
+package github.dimazbtw.dungeons.storage;
+
+import github.dimazbtw.dungeons.managers.RankingManager.RankingType;
+import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.models.PlayerDataSnapshot;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Backend de persistência dos dados de jogadores.
+ * Implementações devem ser seguras para uso a partir da thread principal
+ * e da thread de I/O ao mesmo tempo.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * Carrega os dados de um jogador, ou null se ele não tiver dados salvos.
+     * Um registro que existe mas não pôde ser lido lança IOException, nunca null.
+     */
+    PlayerData load(UUID uuid) throws IOException;
+
+    /**
+     * Grava (insere ou atualiza) um lote de jogadores
+     */
+    void saveBatch(Collection<PlayerDataSnapshot> batch) throws IOException;
+
+    /**
+     * Número de jogadores com dados salvos
+     */
+    int count() throws IOException;
+
+    /**
+     * Percorre todos os jogadores salvos sem mantê-los em memória
+     */
+    void forEach(Consumer<PlayerData> consumer) throws IOException;
+
+    /**
+     * Maiores valores do critério, em ordem decrescente
+     */
+    List<PlayerData> top(RankingType type, int limit) throws IOException;
+
+    /**
+     * Todos os rankings de uma vez (implementações podem fazer em uma única passada)
+     */
+    default Map<RankingType, List<PlayerData>> topAll(int limit) throws IOException {
+        Map<RankingType, List<PlayerData>> result = new EnumMap<>(RankingType.class);
+        for (RankingType type : RankingType.values()) {
+            result.put(type, top(type, limit));
+        }
+        return result;
+    }
+
+    String getName();
+
+    void close();
+}
@@ -0,0 +1,378 @@
+package github.dimazbtw.dungeons.storage;
+
+import github.dimazbtw.dungeons.managers.RankingManager.RankingType;
+import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.models.PlayerDataSnapshot;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Índice persistente dos valores de ranking de todos os jogadores.
+ * Formato: ranking.idx (snapshot completo) + ranking.log (entradas alteradas desde o snapshot).
+ * Registro do log: [tamanho][entrada][crc32 da entrada].
+ * Leituras são feitas apenas em memória; o log é compactado no snapshot periodicamente.
+ */
+public class RankingIndex {
+
+    private static final int MAGIC = 0x44475249; // "DGRI"
+    private static final int VERSION = 1;
+    private static final int COMPACT_THRESHOLD = 10_000;
+    // Uma entrada real tem bem menos (nome de até 16 caracteres + alguns ints)
+    private static final int MAX_LOG_RECORD = 4096;
+
+    private final File snapshotFile;
+    private final File logFile;
+    private final Logger logger;
+    private final Map<UUID, Entry> entries;
+    private final ExecutorService executor;
+
+    // Acessados apenas pela thread de I/O
+    private DataOutputStream logOut;
+    private int logRecords;
+
+    public RankingIndex(File folder, Logger logger) {
+        this.snapshotFile = new File(folder, "ranking.idx");
+        this.logFile = new File(folder, "ranking.log");
+        this.logger = logger;
+        this.entries = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Dungeons-IO-ranking");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Carrega snapshot + log. Retorna false se não existe índice válido (precisa de rebuild).
+     */
+    public boolean load() {
+        if (!snapshotFile.exists() && !logFile.exists()) {
+            return false;
+        }
+
+        try {
+            if (snapshotFile.exists()) {
+                readSnapshot(Files.readAllBytes(snapshotFile.toPath()));
+            }
+            if (logFile.exists()) {
+                replayLog();
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warning("Ranking index is unreadable, it will be rebuilt: " + e.getMessage());
+            entries.clear();
+            return false;
+        }
+    }
+
+    private void readSnapshot(byte[] bytes) throws IOException {
+        if (bytes.length < 4) throw new IOException("ranking.idx is truncated");
+
+        int length = bytes.length - 4;
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        int stored = ((bytes[length] & 0xFF) << 24) | ((bytes[length + 1] & 0xFF) << 16)
+                | ((bytes[length + 2] & 0xFF) << 8) | (bytes[length + 3] & 0xFF);
+        if ((int) crc.getValue() != stored) {
+            throw new IOException("ranking.idx checksum mismatch");
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, length));
+        if (in.readInt() != MAGIC) throw new IOException("ranking.idx has an invalid header");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("Unsupported ranking index version " + version);
+
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            Entry entry = readEntry(in);
+            entries.put(entry.uuid, entry);
+        }
+    }
+
+    /**
+     * Reaplica o log. O primeiro registro truncado, com tamanho impossível ou CRC
+     * errado marca o fim; o índice é compactado logo em seguida para que novos
+     * registros não fiquem atrás do lixo. Se já o primeiro registro é inválido
+     * (ex.: log no formato antigo, sem CRC), o índice é reconstruído.
+     */
+    private void replayLog() throws IOException {
+        byte[] bytes = Files.readAllBytes(logFile.toPath());
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+
+        int replayed = 0;
+        boolean damaged = false;
+        while (buffer.available() > 0) {
+            int start = bytes.length - buffer.available();
+            Entry entry;
+            try {
+                int length = in.readInt();
+                if (length <= 0 || length > MAX_LOG_RECORD || length > buffer.available()) {
+                    throw new IOException("invalid record length " + length);
+                }
+                byte[] data = new byte[length];
+                in.readFully(data);
+
+                CRC32 crc = new CRC32();
+                crc.update(data);
+                if ((int) crc.getValue() != in.readInt()) {
+                    throw new IOException("checksum mismatch");
+                }
+
+                ByteArrayInputStream record = new ByteArrayInputStream(data);
+                entry = readEntry(new DataInputStream(record));
+                if (record.available() > 0) {
+                    throw new IOException("record size mismatch");
+                }
+            } catch (IOException e) {
+                if (replayed == 0) {
+                    throw new IOException("ranking.log is unreadable: " + e.getMessage(), e);
+                }
+                // Registro incompleto ou corrompido (crash durante a escrita) - descartado com o resto
+                logger.warning("Discarding damaged records at the end of ranking.log ("
+                        + (bytes.length - start) + " bytes): " + e.getMessage());
+                damaged = true;
+                break;
+            }
+            entries.put(entry.uuid, entry);
+            replayed++;
+        }
+
+        logRecords = replayed;
+        if (damaged) {
+            compactAsync();
+        }
+    }
+
+    /**
+     * Reconstrói o índice a partir do backend (apenas quando não existe índice).
+     * Deve ser chamado fora da thread principal.
+     */
+    public int rebuild(PlayerDataStore store) throws IOException {
+        int[] indexed = {0};
+        store.forEach(data -> {
+            // Atualizações feitas durante o rebuild são mais recentes
+            if (entries.putIfAbsent(data.getUuid(), Entry.of(data.getUuid(), null, data)) == null) {
+                indexed[0]++;
+            }
+        });
+        compactAsync();
+        return indexed[0];
+    }
+
+    /**
+     * Atualiza um jogador. Chamado quando os dados são salvos; o nome anterior é mantido se {@code name} for null.
+     */
+    public void update(PlayerDataSnapshot data, String name) {
+        Entry previous = entries.get(data.getUuid());
+        if (name == null && previous != null) {
+            name = previous.name;
+        }
+
+        Entry entry = Entry.of(data, name);
+        if (entry.equals(previous)) return;
+
+        entries.put(entry.uuid, entry);
+        executor.execute(() -> append(entry));
+    }
+
+    /**
+     * Atualiza o nome exibido (jogadores que trocaram de nick)
+     */
+    public void updateName(UUID uuid, String name) {
+        Entry previous = entries.get(uuid);
+        if (previous == null || name.equals(previous.name)) return;
+
+        Entry entry = new Entry(uuid, name, previous.values);
+        entries.put(uuid, entry);
+        executor.execute(() -> append(entry));
+    }
+
+    private void append(Entry entry) {
+        try {
+            if (logOut == null) {
+                logOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logFile, true)));
+            }
+            writeLogRecord(logOut, entry);
+            logOut.flush();
+
+            if (++logRecords >= COMPACT_THRESHOLD) {
+                compact();
+            }
+        } catch (IOException e) {
+            logger.warning("Failed to append to ranking index: " + e.getMessage());
+        }
+    }
+
+    public void compactAsync() {
+        executor.execute(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                logger.warning("Failed to compact ranking index: " + e.getMessage());
+            }
+        });
+    }
+
+    private void compact() throws IOException {
+        Collection<Entry> current = new ArrayList<>(entries.values());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(current.size() * 48 + 16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeInt(current.size());
+        for (Entry entry : current) {
+            writeEntry(out, entry);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        AtomicFiles.write(snapshotFile, bytes.toByteArray());
+
+        // O snapshot já contém tudo o que estava no log
+        if (logOut != null) {
+            logOut.close();
+            logOut = null;
+        }
+        Files.deleteIfExists(logFile.toPath());
+        logRecords = 0;
+    }
+
+    private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+        out.writeLong(entry.uuid.getMostSignificantBits());
+        out.writeLong(entry.uuid.getLeastSignificantBits());
+        out.writeUTF(entry.name != null ? entry.name : "");
+        out.writeByte(entry.values.length);
+        for (int value : entry.values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeLogRecord(DataOutputStream out, Entry entry) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        writeEntry(new DataOutputStream(bytes), entry);
+
+        byte[] data = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static Entry readEntry(DataInputStream in) throws IOException {
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        String name = in.readUTF();
+
+        // Tipos adicionados depois ficam zerados; tipos removidos são ignorados
+        int stored = in.readUnsignedByte();
+        int[] values = new int[RankingType.values().length];
+        for (int i = 0; i < stored; i++) {
+            int value = in.readInt();
+            if (i < values.length) values[i] = value;
+        }
+        return new Entry(uuid, name.isEmpty() ? null : name, values);
+    }
+
+    public Entry get(UUID uuid) {
+        return entries.get(uuid);
+    }
+
+    public Collection<Entry> values() {
+        return entries.values();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Compacta o log e espera (com limite) a thread de I/O terminar
+     */
+    public void close(long timeoutMillis) {
+        compactAsync();
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warning("Ranking index did not finish writing in " + timeoutMillis + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Valores de ranking de um jogador (imutável)
+     */
+    public static final class Entry {
+        private final UUID uuid;
+        private final String name;
+        private final int[] values;
+
+        private Entry(UUID uuid, String name, int[] values) {
+            this.uuid = uuid;
+            this.name = name;
+            this.values = values;
+        }
+
+        static Entry of(PlayerDataSnapshot data, String name) {
+            int[] values = new int[RankingType.values().length];
+            values[RankingType.MOBS_KILLED.ordinal()] = data.getMobsKilled();
+            values[RankingType.BOSSES_KILLED.ordinal()] = data.getBossesKilled();
+            values[RankingType.DUNGEONS_COMPLETED.ordinal()] = data.getDungeonsCompleted();
+            values[RankingType.POINTS.ordinal()] = data.getPoints();
+            values[RankingType.LEVEL.ordinal()] = data.getLevel();
+            return new Entry(data.getUuid(), name, values);
+        }
+
+        static Entry of(UUID uuid, String name, PlayerData data) {
+            int[] values = new int[RankingType.values().length];
+            for (RankingType type : RankingType.values()) {
+                values[type.ordinal()] = type.getValue(data);
+            }
+            return new Entry(uuid, name, values);
+        }
+
+        public UUID getUuid() { return uuid; }
+        public String getName() { return name; }
+
+        public int getValue(RankingType type) {
+            return values[type.ordinal()];
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Entry entry)) return false;
+            return uuid.equals(entry.uuid) && Objects.equals(name, entry.name)
+                    && Arrays.equals(values, entry.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return uuid.hashCode();
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package github.dimazbtw.dungeons.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only de recompensas pendentes, dividido em um shard por jogador
+ * (rewards/&lt;uuid&gt;.journal).
+ * Cada alteração vira um registro ADD/CLAIM no fim do shard; shards alterados são
+ * compactados periodicamente e quando o jogador sai, sempre na thread de I/O.
+ * Formato do registro: [op][rewardId][tamanho][payload][crc32 dos bytes anteriores]
+ */
+public class RewardJournal {
+
+    private static final byte OP_ADD = 1;
+    private static final byte OP_CLAIM = 2;
+    private static final String EXTENSION = ".journal";
+    // Uma recompensa serializada (item com NBT) fica bem abaixo disso
+    private static final int MAX_PAYLOAD = 1 << 20;
+
+    private final Logger logger;
+    private final File folder;
+    private final ExecutorService executor;
+
+    // Shards com registros novos desde a última compactação
+    private final Map<UUID, Boolean> touched;
+
+    public RewardJournal(File folder, Logger logger) {
+        this.logger = logger;
+        this.folder = folder;
+        this.touched = new ConcurrentHashMap<>();
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Dungeons-IO-rewards");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!folder.exists()) {
+            folder.mkdirs();
+        }
+    }
+
+    /**
+     * Lê o shard do jogador na thread de I/O.
+     * Retorna os payloads das recompensas ainda não coletadas, em ordem de inserção.
+     */
+    public CompletableFuture<List<byte[]>> load(UUID playerId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return new ArrayList<>(replay(playerId).values());
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read rewards shard of " + playerId, e);
+            }
+        }, executor);
+    }
+
+    public void appendAdd(UUID playerId, String rewardId, byte[] payload) {
+        append(OP_ADD, playerId, rewardId, payload);
+    }
+
+    public void appendClaim(UUID playerId, String rewardId) {
+        append(OP_CLAIM, playerId, rewardId, null);
+    }
+
+    private void append(byte op, UUID playerId, String rewardId, byte[] payload) {
+        touched.put(playerId, Boolean.TRUE);
+        submit(() -> {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(shardFile(playerId), true)))) {
+                writeRecord(out, op, rewardId, payload);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to append reward journal record for " + playerId, e);
+            }
+        });
+    }
+
+    /**
+     * Agenda a compactação de todos os shards alterados
+     */
+    public void compactAsync() {
+        for (UUID playerId : touched.keySet()) {
+            compactAsync(playerId);
+        }
+    }
+
+    /**
+     * Agenda a compactação do shard de um jogador (se foi alterado)
+     */
+    public void compactAsync(UUID playerId) {
+        if (touched.remove(playerId) == null) return;
+        submit(() -> {
+            try {
+                writeShard(playerId, replay(playerId));
+            } catch (IOException e) {
+                touched.put(playerId, Boolean.TRUE);
+                logger.log(Level.SEVERE, "Failed to compact rewards shard of " + playerId, e);
+            }
+        });
+    }
+
+    /**
+     * Reescreve um shard inteiro com o estado atual (compactação)
+     */
+    private void writeShard(UUID playerId, Map<String, byte[]> rewards) throws IOException {
+        File shard = shardFile(playerId);
+        if (rewards.isEmpty()) {
+            Files.deleteIfExists(shard.toPath());
+            return;
+        }
+
+        File temp = new File(folder, playerId + EXTENSION + ".tmp");
+        try (FileOutputStream fileOut = new FileOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            for (Map.Entry<String, byte[]> reward : rewards.entrySet()) {
+                writeRecord(out, OP_ADD, reward.getKey(), reward.getValue());
+            }
+            out.flush();
+            fileOut.getFD().sync();
+        }
+
+        Files.move(temp.toPath(), shard.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Grava os registros pendentes e encerra a thread de I/O
+     */
+    public void close(long timeoutMillis) {
+        compactAsync();
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warning("Timed out flushing reward journal");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void submit(Runnable task) {
+        if (executor.isShutdown()) {
+            task.run();
+            return;
+        }
+        executor.execute(task);
+    }
+
+    private File shardFile(UUID playerId) {
+        return new File(folder, playerId + EXTENSION);
+    }
+
+    /**
+     * Reaplica o shard (sempre na thread de I/O). O primeiro registro truncado,
+     * com tamanho impossível ou CRC errado marca o fim do journal; o shard é
+     * reescrito sem ele para que novos registros não fiquem atrás do lixo.
+     */
+    private Map<String, byte[]> replay(UUID playerId) throws IOException {
+        Map<String, byte[]> state = new LinkedHashMap<>();
+        File file = shardFile(playerId);
+        if (!file.exists()) return state;
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        ByteArrayInputStream buffer = new ByteArrayInputStream(bytes);
+        DataInputStream in = new DataInputStream(buffer);
+
+        while (buffer.available() > 0) {
+            int start = bytes.length - buffer.available();
+            try {
+                byte op = in.readByte();
+                String rewardId = in.readUTF();
+                int length = in.readInt();
+                if (length < 0 || length > MAX_PAYLOAD || length > buffer.available()) {
+                    throw new IOException("invalid record length " + length);
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                CRC32 crc = new CRC32();
+                crc.update(bytes, start, bytes.length - buffer.available() - start);
+                if ((int) crc.getValue() != in.readInt()) {
+                    throw new IOException("checksum mismatch");
+                }
+
+                // Reaplicar é idempotente: ADD sobrescreve pelo id, CLAIM ignora ausentes
+                if (op == OP_ADD) {
+                    state.put(rewardId, payload);
+                } else if (op == OP_CLAIM) {
+                    state.remove(rewardId);
+                }
+            } catch (IOException torn) {
+                // Registro incompleto ou corrompido (crash durante a escrita) - descartado com o resto
+                logger.warning("Discarding damaged records at the end of " + file.getName()
+                        + " (" + (bytes.length - start) + " bytes): " + torn.getMessage());
+                writeShard(playerId, state);
+                return state;
+            }
+        }
+        return state;
+    }
+
+    private static void writeRecord(DataOutputStream out, byte op, String rewardId, byte[] payload)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + (payload != null ? payload.length : 0));
+        DataOutputStream record = new DataOutputStream(bytes);
+        record.writeByte(op);
+        record.writeUTF(rewardId);
+        if (payload == null) {
+            record.writeInt(0);
+        } else {
+            record.writeInt(payload.length);
+            record.write(payload);
+        }
+
+        byte[] data = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+}
@@ -0,0 +1,316 @@
+package github.dimazbtw.dungeons.storage;
+
+import github.dimazbtw.dungeons.managers.RankingManager.RankingType;
+import github.dimazbtw.dungeons.models.PlayerData;
+import github.dimazbtw.dungeons.models.PlayerDataSnapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * Backend SQLite embutido (arquivo local, sem servidor externo).
+ * As colunas usadas nos rankings são indexadas; gravações são feitas em lote
+ * dentro de uma única transação.
+ */
+public class SqlPlayerDataStore implements PlayerDataStore {
+
+    private static final String COLUMNS = "uuid, dungeons_completed, dungeons_failed, mobs_killed, bosses_killed, "
+            + "deaths, total_playtime, highest_round, points, vitality, strength, agility, perk_points, level, "
+            + "experience, enchants";
+
+    private static final String UPSERT = "INSERT INTO player_data (" + COLUMNS + ") "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT(uuid) DO UPDATE SET "
+            + "dungeons_completed = excluded.dungeons_completed, dungeons_failed = excluded.dungeons_failed, "
+            + "mobs_killed = excluded.mobs_killed, bosses_killed = excluded.bosses_killed, "
+            + "deaths = excluded.deaths, total_playtime = excluded.total_playtime, "
+            + "highest_round = excluded.highest_round, points = excluded.points, "
+            + "vitality = excluded.vitality, strength = excluded.strength, agility = excluded.agility, "
+            + "perk_points = excluded.perk_points, level = excluded.level, "
+            + "experience = excluded.experience, enchants = excluded.enchants";
+
+    private static final int PAGE_SIZE = 500;
+
+    private static final String FILE_IMPORT_KEY = "file_import_complete";
+
+    private final Logger logger;
+    private final Connection connection;
+
+    public SqlPlayerDataStore(File databaseFile, Logger logger) throws IOException {
+        this.logger = logger;
+
+        try {
+            Class.forName("org.sqlite.JDBC");
+            this.connection = DriverManager.getConnection("jdbc:sqlite:" + databaseFile.getAbsolutePath());
+            createSchema();
+        } catch (ClassNotFoundException | SQLException e) {
+            throw new IOException("Failed to open SQLite database " + databaseFile.getName(), e);
+        }
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+
+            statement.execute("CREATE TABLE IF NOT EXISTS player_data ("
+                    + "uuid CHAR(36) PRIMARY KEY, "
+                    + "dungeons_completed INTEGER NOT NULL DEFAULT 0, "
+                    + "dungeons_failed INTEGER NOT NULL DEFAULT 0, "
+                    + "mobs_killed INTEGER NOT NULL DEFAULT 0, "
+                    + "bosses_killed INTEGER NOT NULL DEFAULT 0, "
+                    + "deaths INTEGER NOT NULL DEFAULT 0, "
+                    + "total_playtime BIGINT NOT NULL DEFAULT 0, "
+                    + "highest_round INTEGER NOT NULL DEFAULT 0, "
+                    + "points INTEGER NOT NULL DEFAULT 0, "
+                    + "vitality INTEGER NOT NULL DEFAULT 0, "
+                    + "strength INTEGER NOT NULL DEFAULT 0, "
+                    + "agility REAL NOT NULL DEFAULT 0, "
+                    + "perk_points INTEGER NOT NULL DEFAULT 0, "
+                    + "level INTEGER NOT NULL DEFAULT 1, "
+                    + "experience INTEGER NOT NULL DEFAULT 0, "
+                    + "enchants TEXT NOT NULL DEFAULT '')");
+
+            // Marcadores do próprio plugin (ex.: importação dos arquivos concluída)
+            statement.execute("CREATE TABLE IF NOT EXISTS dungeons_meta ("
+                    + "meta_key VARCHAR(64) PRIMARY KEY, "
+                    + "meta_value TEXT NOT NULL)");
+
+            // Índices das colunas de ranking
+            for (RankingType type : RankingType.values()) {
+                String column = getColumn(type);
+                statement.execute("CREATE INDEX IF NOT EXISTS idx_player_data_" + column
+                        + " ON player_data (" + column + " DESC)");
+            }
+        }
+    }
+
+    @Override
+    public synchronized PlayerData load(UUID uuid) throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM player_data WHERE uuid = ?")) {
+            statement.setString(1, uuid.toString());
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() ? read(result) : null;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to load player data for " + uuid, e);
+        }
+    }
+
+    @Override
+    public synchronized void saveBatch(Collection<PlayerDataSnapshot> batch) throws IOException {
+        if (batch.isEmpty()) return;
+
+        try {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(UPSERT)) {
+                for (PlayerDataSnapshot data : batch) {
+                    statement.setString(1, data.getUuid().toString());
+                    statement.setInt(2, data.getDungeonsCompleted());
+                    statement.setInt(3, data.getDungeonsFailed());
+                    statement.setInt(4, data.getMobsKilled());
+                    statement.setInt(5, data.getBossesKilled());
+                    statement.setInt(6, data.getDeaths());
+                    statement.setLong(7, data.getTotalPlayTime());
+                    statement.setInt(8, data.getHighestRound());
+                    statement.setInt(9, data.getPoints());
+                    statement.setInt(10, data.getVitality());
+                    statement.setInt(11, data.getStrength());
+                    statement.setDouble(12, data.getAgility());
+                    statement.setInt(13, data.getPerkPoints());
+                    statement.setInt(14, data.getLevel());
+                    statement.setInt(15, data.getExperience());
+                    statement.setString(16, encodeEnchants(data.getWeaponEnchants()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                logger.warning("Failed to roll back player data batch: " + rollback.getMessage());
+            }
+            throw new IOException("Failed to save " + batch.size() + " player data rows", e);
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Se a importação de playerdata/ já terminou neste banco. Só é marcada depois
+     * do último lote, então uma importação interrompida é refeita no próximo start.
+     */
+    public synchronized boolean isFileImportComplete() throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT meta_value FROM dungeons_meta WHERE meta_key = ?")) {
+            statement.setString(1, FILE_IMPORT_KEY);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to read import state", e);
+        }
+    }
+
+    public synchronized void markFileImportComplete() throws IOException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT OR REPLACE INTO dungeons_meta (meta_key, meta_value) VALUES (?, ?)")) {
+            statement.setString(1, FILE_IMPORT_KEY);
+            statement.setString(2, String.valueOf(System.currentTimeMillis()));
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IOException("Failed to record import state", e);
+        }
+    }
+
+    @Override
+    public synchronized int count() throws IOException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM player_data")) {
+            return result.next() ? result.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new IOException("Failed to count players", e);
+        }
+    }
+
+    /**
+     * Varre a tabela em páginas pela chave primária. A conexão só fica presa
+     * durante a leitura de cada página, então loads e flushes intercalam com a
+     * varredura; o consumidor roda fora do lock.
+     */
+    @Override
+    public void forEach(Consumer<PlayerData> consumer) throws IOException {
+        String after = "";
+        while (true) {
+            List<PlayerData> page = readPage(after);
+            for (PlayerData data : page) {
+                consumer.accept(data);
+            }
+            if (page.size() < PAGE_SIZE) return;
+
+            after = page.get(page.size() - 1).getUuid().toString();
+        }
+    }
+
+    private synchronized List<PlayerData> readPage(String after) throws IOException {
+        List<PlayerData> page = new ArrayList<>(PAGE_SIZE);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM player_data WHERE uuid > ? ORDER BY uuid LIMIT ?")) {
+            statement.setString(1, after);
+            statement.setInt(2, PAGE_SIZE);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    page.add(read(result));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to iterate player data", e);
+        }
+        return page;
+    }
+
+    @Override
+    public synchronized List<PlayerData> top(RankingType type, int limit) throws IOException {
+        String column = getColumn(type);
+        List<PlayerData> top = new ArrayList<>(limit);
+
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT " + COLUMNS + " FROM player_data ORDER BY " + column + " DESC LIMIT ?")) {
+            statement.setInt(1, limit);
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    top.add(read(result));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Failed to query " + type + " ranking", e);
+        }
+        return top;
+    }
+
+    private PlayerData read(ResultSet result) throws SQLException {
+        PlayerData data = new PlayerData(UUID.fromString(result.getString("uuid")));
+        data.setDungeonsCompleted(result.getInt("dungeons_completed"));
+        data.setDungeonsFailed(result.getInt("dungeons_failed"));
+        data.setMobsKilled(result.getInt("mobs_killed"));
+        data.setBossesKilled(result.getInt("bosses_killed"));
+        data.setDeaths(result.getInt("deaths"));
+        data.setTotalPlayTime(result.getLong("total_playtime"));
+        data.setHighestRound(result.getInt("highest_round"));
+        data.setPoints(result.getInt("points"));
+        data.setVitality(result.getInt("vitality"));
+        data.setStrength(result.getInt("strength"));
+        data.setAgility(result.getDouble("agility"));
+        data.setPerkPoints(result.getInt("perk_points"));
+        data.setLevel(result.getInt("level"));
+        data.setExperience(result.getInt("experience"));
+        decodeEnchants(result.getString("enchants"), data);
+        data.clearDirty();
+        return data;
+    }
+
+    // Encantamentos em uma coluna texto: "chave:nivel;chave:nivel"
+    private String encodeEnchants(Map<String, Integer> enchants) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : enchants.entrySet()) {
+            if (builder.length() > 0) builder.append(';');
+            builder.append(entry.getKey()).append(':').append(entry.getValue());
+        }
+        return builder.toString();
+    }
+
+    private void decodeEnchants(String encoded, PlayerData data) {
+        if (encoded == null || encoded.isEmpty()) return;
+        for (String part : encoded.split(";")) {
+            int separator = part.lastIndexOf(':');
+            if (separator <= 0) continue;
+            try {
+                data.setEnchantLevel(part.substring(0, separator), Integer.parseInt(part.substring(separator + 1)));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+    }
+
+    private static String getColumn(RankingType type) {
+        return switch (type) {
+            case MOBS_KILLED -> "mobs_killed";
+            case BOSSES_KILLED -> "bosses_killed";
+            case DUNGEONS_COMPLETED -> "dungeons_completed";
+            case POINTS -> "points";
+            case LEVEL -> "level";
+        };
+    }
+
+    @Override
+    public String getName() {
+        return "SQLITE";
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.warning("Failed to close SQLite database: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package github.dimazbtw.dungeons.storage;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fila de escrita assíncrona (write-behind).
+ * Cada chave guarda apenas o valor mais recente: várias gravações do mesmo
+ * jogador antes do flush são agrupadas em uma única escrita.
+ * Um flush que falha é tentado de novo com espera crescente (1s até 60s).
+ */
+public class WriteBehindQueue<K, V> {
+
+    private static final long MIN_RETRY_MILLIS = 1000L;
+    private static final long MAX_RETRY_MILLIS = 60_000L;
+
+    /**
+     * Responsável por gravar um lote de valores no disco/banco
+     */
+    @FunctionalInterface
+    public interface BatchWriter<K, V> {
+        void write(Map<K, V> batch) throws IOException;
+    }
+
+    private final String name;
+    private final Logger logger;
+    private final BatchWriter<K, V> writer;
+    private final Map<K, V> pending;
+    private final AtomicBoolean scheduled;
+    private final ScheduledExecutorService executor;
+
+    // Só acessados na thread de I/O (e em shutdown, depois de parar a retentativa)
+    private int failures;
+    private volatile ScheduledFuture<?> retry;
+
+    public WriteBehindQueue(String name, Logger logger, BatchWriter<K, V> writer) {
+        this.name = name;
+        this.logger = logger;
+        this.writer = writer;
+        this.pending = new ConcurrentHashMap<>();
+        this.scheduled = new AtomicBoolean(false);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Dungeons-IO-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Enfileira um valor; substitui qualquer valor ainda não gravado da mesma chave
+     */
+    public void submit(K key, V value) {
+        pending.put(key, value);
+        scheduleDrain();
+    }
+
+    /**
+     * Valor ainda não persistido para a chave (ou null)
+     */
+    public V getPending(K key) {
+        return pending.get(key);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void scheduleDrain() {
+        if (executor.isShutdown()) return;
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Map<K, V> batch = new HashMap<>(pending);
+            if (!batch.isEmpty()) {
+                try {
+                    writer.write(batch);
+                } catch (IOException | RuntimeException e) {
+                    // Mantém os valores na fila e agenda a próxima tentativa
+                    scheduleRetry(batch.size(), e);
+                    return;
+                }
+                failures = 0;
+
+                // Remove apenas se não houve uma gravação mais nova enquanto escrevíamos
+                for (Map.Entry<K, V> entry : batch.entrySet()) {
+                    pending.remove(entry.getKey(), entry.getValue());
+                }
+            }
+
+            scheduled.set(false);
+            if (pending.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    // Continua "agendado" durante a espera: novos submits entram na retentativa
+    private void scheduleRetry(int size, Exception cause) {
+        if (executor.isShutdown()) {
+            logger.log(Level.SEVERE, "Failed to flush " + size + " entries in " + name + " queue", cause);
+            scheduled.set(false);
+            return;
+        }
+
+        long delay = Math.min(MAX_RETRY_MILLIS, MIN_RETRY_MILLIS << Math.min(failures, 6));
+        failures++;
+        logger.log(Level.SEVERE, "Failed to flush " + size + " entries in " + name + " queue, retrying in "
+                + (delay / 1000) + "s", cause);
+        retry = executor.schedule(() -> {
+            retry = null;
+            drain();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Grava tudo que estiver pendente e encerra a thread de I/O,
+     * esperando no máximo o tempo informado
+     */
+    public void shutdown(long timeoutMillis) {
+        // Uma retentativa em espera vira a última tentativa, feita já
+        ScheduledFuture<?> waiting = retry;
+        if (waiting != null && waiting.cancel(false)) {
+            retry = null;
+            scheduled.set(false);
+        }
+        if (!pending.isEmpty() && scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                logger.warning("Timed out flushing " + name + " queue, " + pending.size() + " entries were not saved");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        if (!pending.isEmpty()) {
+            logger.warning(pending.size() + " entries left unsaved in " + name + " queue");
+        }
+    }
+}
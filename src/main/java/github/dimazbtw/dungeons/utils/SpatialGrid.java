@@ -0,0 +1,100 @@
+package github.dimazbtw.dungeons.utils;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Grade uniforme em x/z para consultas de área. Cada célula tem CELL_SIZE
+ * blocos de lado e guarda uma lista encadeada das entradas que caem nela.
+ * As entradas ficam num pool reaproveitado entre reconstruções, então
+ * {@link #clear()} seguido de {@link #add} não aloca depois do primeiro tick.
+ * Não é thread-safe.
+ */
+public class SpatialGrid<T> {
+
+    private static final int CELL_SHIFT = 3; // células de 8 blocos
+
+    // Célula -> primeira entrada (as demais seguem por Entry.next)
+    private final IntObjectHashMap<Entry<T>> cells;
+    private Entry<T>[] entries;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public SpatialGrid() {
+        this.cells = new IntObjectHashMap<>();
+        this.entries = new Entry[16];
+    }
+
+    // Empacota a célula em um int; colisões só trazem candidatos a mais, que a distância descarta
+    private static int cellKey(int cellX, int cellZ) {
+        return (cellX << 16) ^ (cellZ & 0xFFFF);
+    }
+
+    public void add(double x, double y, double z, T value) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size << 1);
+        }
+
+        Entry<T> entry = entries[size];
+        if (entry == null) {
+            entry = entries[size] = new Entry<>();
+        }
+        size++;
+
+        entry.x = x;
+        entry.y = y;
+        entry.z = z;
+        entry.value = value;
+        // put devolve a antiga cabeça da célula, que passa a ser a próxima
+        entry.next = cells.put(cellKey((int) Math.floor(x) >> CELL_SHIFT, (int) Math.floor(z) >> CELL_SHIFT), entry);
+    }
+
+    /**
+     * Entrega cada valor a até {@code radius} blocos do ponto (distância ao quadrado)
+     */
+    public void query(double x, double y, double z, double radius, Consumer<? super T> action) {
+        if (size == 0) return;
+
+        double radiusSquared = radius * radius;
+        int minX = (int) Math.floor(x - radius) >> CELL_SHIFT;
+        int maxX = (int) Math.floor(x + radius) >> CELL_SHIFT;
+        int minZ = (int) Math.floor(z - radius) >> CELL_SHIFT;
+        int maxZ = (int) Math.floor(z + radius) >> CELL_SHIFT;
+
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                for (Entry<T> entry = cells.get(cellKey(cellX, cellZ)); entry != null; entry = entry.next) {
+                    double dx = entry.x - x;
+                    double dy = entry.y - y;
+                    double dz = entry.z - z;
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                        action.accept(entry.value);
+                    }
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        if (size == 0) return;
+
+        for (int i = 0; i < size; i++) {
+            entries[i].value = null;
+            entries[i].next = null;
+        }
+        cells.clear();
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static class Entry<T> {
+        private double x;
+        private double y;
+        private double z;
+        private T value;
+        private Entry<T> next;
+    }
+}